@@ -0,0 +1,57 @@
+package com.common.api.login.converter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * oauth_users.rawAttributes 직렬화/역직렬화 (카카오 user/me 응답과 비슷한 크기)
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonAttributeConverterBenchmark {
+
+    private JsonAttributeConverter converter;
+    private Map<String, Object> attributes;
+    private String json;
+
+    @Setup
+    public void setup() {
+        converter = new JsonAttributeConverter();
+        attributes = Map.of(
+                "id", 1234567890L,
+                "connected_at", "2025-01-01T00:00:00Z",
+                "kakao_account", Map.of(
+                        "profile_nickname_needs_agreement", false,
+                        "profile_image_needs_agreement", false,
+                        "profile", Map.of(
+                                "nickname", "bench",
+                                "profile_image_url", "http://k.kakaocdn.net/dn/bench/img_640x640.jpg",
+                                "is_default_image", true),
+                        "email_needs_agreement", false,
+                        "email", "bench@example.com",
+                        "age_range", "20~29",
+                        "gender", "female"));
+        json = converter.convertToDatabaseColumn(attributes);
+    }
+
+    @Benchmark
+    public String toDatabaseColumn() {
+        return converter.convertToDatabaseColumn(attributes);
+    }
+
+    @Benchmark
+    public Map<String, Object> toEntityAttribute() {
+        return converter.convertToEntityAttribute(json);
+    }
+
+    @Benchmark
+    public Map<String, Object> roundTrip() {
+        return converter.convertToEntityAttribute(converter.convertToDatabaseColumn(attributes));
+    }
+}
@@ -0,0 +1,36 @@
+package com.common.api.login.security;
+
+import com.common.api.login.entity.user.RoleEntity;
+import com.common.api.login.entity.user.User;
+import com.common.api.login.enums.RoleType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomUserDetailsBenchmark {
+
+    private User user;
+
+    @Setup
+    public void setup() {
+        user = User.builder()
+                .userId("bench-user")
+                .email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuuN0YtBmXhE7C4kfx1jtEyIoFc0VH3Cq")
+                .displayName("bench")
+                .build();
+        user.addRole(RoleEntity.builder().roleName(RoleType.ROLE_USER).build());
+        user.addRole(RoleEntity.builder().roleName(RoleType.ROLE_ADMIN).build());
+    }
+
+    @Benchmark
+    public CustomUserDetails fromUser() {
+        return new CustomUserDetails(user);
+    }
+}
@@ -0,0 +1,98 @@
+package com.common.api.login.security;
+
+import com.common.api.login.entity.user.RoleEntity;
+import com.common.api.login.entity.user.User;
+import com.common.api.login.enums.RoleType;
+import com.common.api.login.metrics.AuthMetrics;
+import com.common.api.login.repository.UserRepository;
+import com.common.api.login.service.CustomUserDetailsService;
+import com.common.api.login.service.ReadYourWrites;
+import com.common.api.login.service.UserSnapshotCache;
+import com.common.api.login.util.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * DB 조회 모드 vs stateless 모드 필터 비용 비교
+ * DB 왕복은 dbLatencyMicros 만큼 park 하는 스텁 UserRepository 로 대체 (엔티티 → UserDetails 변환 비용은 실제 코드 그대로)
+ * 검증 캐시는 꺼 두고 필터 자체 비용만 비교, userCacheTtlSeconds > 0 이면 사용자 스냅샷 캐시 경유
+ * */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET =
+            "unvc/0IBfMVGKYNZa9xML9mhxBU8cactIVvVu7m6cmzZsW5dx+ncf6dBbMt3X/Wxu2cj0YaQnZCnmUch60TkKQ==";
+
+    @Param({"false", "true"})
+    public boolean statelessAuth;
+
+    @Param({"0", "300"})
+    public long dbLatencyMicros;
+
+    @Param({"0", "30"})
+    public long userCacheTtlSeconds;
+
+    private JwtAuthenticationFilter filter;
+    private String bearer;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider provider = new JwtTokenProvider(900_000L, 604_800_000L, SECRET, 0);
+        User user = User.builder()
+                .userId("bench-user")
+                .email("bench@example.com")
+                .password("{noop}unused")
+                .displayName("bench")
+                .build();
+        user.addRole(RoleEntity.builder().roleName(RoleType.ROLE_USER).build());
+
+        UserRepository repository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (!"findByUserId".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (dbLatencyMicros > 0) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(dbLatencyMicros));
+                    }
+                    return Optional.of(user);
+                });
+
+        filter = new JwtAuthenticationFilter(
+                provider,
+                new CustomUserDetailsService(new UserSnapshotCache(repository, new ReadYourWrites(0), 10_000, userCacheTtlSeconds)),
+                new StaticListableBeanFactory().getBeanProvider(UserStatusChecker.class),
+                new AccessTokenDenylist(1 << 20, 0, ""),
+                new UserTokenEpochs(repository, 5_000),
+                AuthMetrics.NOOP,
+                statelessAuth
+        );
+        bearer = "Bearer " + provider.createAccessToken("bench-user", Set.of(RoleType.ROLE_USER.name()));
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/private/hello");
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+}
@@ -0,0 +1,33 @@
+package com.common.api.login.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashUtilsBenchmark {
+
+    private String refreshToken;
+
+    @Setup
+    public void setup() {
+        JwtTokenProvider provider =
+                new JwtTokenProvider(900_000L, 604_800_000L, JwtTokenProviderBenchmark.SECRET, 0);
+        refreshToken = provider.createRefreshToken("bench-user");
+    }
+
+    @Benchmark
+    public byte[] sha256() {
+        return HashUtils.sha256(refreshToken);
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        return HashUtils.sha256Hex(refreshToken);
+    }
+}
@@ -0,0 +1,100 @@
+package com.common.api.login.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * jjwt 빌더/파서 vs Hs512TokenCodec 같은 토큰 모양 비교 (-prof gc 로 할당량 확인)
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Hs512TokenCodecBenchmark {
+
+    private SecretKey key;
+    private JwtParser parser;
+    private Hs512TokenCodec codec;
+    private Set<String> roles;
+    private String token;
+    private String expiredToken;
+
+    @Setup
+    public void setup() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JwtTokenProviderBenchmark.SECRET));
+        parser = Jwts.parser().verifyWith(key).build();
+        codec = new Hs512TokenCodec(key);
+        roles = Set.of("ROLE_USER");
+        token = codecSign();
+        long past = System.currentTimeMillis() / 1000 - 60;
+        expiredToken = codec.sign(codec.payload()
+                .string("sub", "bench-user")
+                .stringArray("roles", roles)
+                .number("iat", past - 900)
+                .number("exp", past)
+                .toBytes());
+    }
+
+    @Benchmark
+    public String jjwtSign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("bench-user")
+                .claim("roles", roles)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 900_000))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public String codecSign() {
+        long now = System.currentTimeMillis();
+        return codec.sign(codec.payload()
+                .string("sub", "bench-user")
+                .stringArray("roles", roles)
+                .number("iat", now / 1000)
+                .number("exp", (now + 900_000) / 1000)
+                .toBytes());
+    }
+
+    @Benchmark
+    public Object jjwtVerify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    @Benchmark
+    public Map<String, Object> codecVerify() {
+        return codec.decode(token, System.currentTimeMillis(), false);
+    }
+
+    @Benchmark
+    public Object jjwtRejectExpired() {
+        try {
+            return parser.parseSignedClaims(expiredToken);
+        } catch (ExpiredJwtException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object codecRejectExpired() {
+        try {
+            return codec.decode(expiredToken, System.currentTimeMillis(), false);
+        } catch (ExpiredJwtException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.common.api.login.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET =
+            "unvc/0IBfMVGKYNZa9xML9mhxBU8cactIVvVu7m6cmzZsW5dx+ncf6dBbMt3X/Wxu2cj0YaQnZCnmUch60TkKQ==";
+
+    // 0 이면 검증 캐시 비활성 → 매 호출 HMAC + JSON 파싱
+    @Param({"0", "10000"})
+    public int verifyCacheMaxSize;
+
+    private JwtTokenProvider provider;
+    private Set<String> roles;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        provider = new JwtTokenProvider(900_000L, 604_800_000L, SECRET, verifyCacheMaxSize);
+        roles = Set.of("ROLE_USER", "ROLE_ADMIN");
+        accessToken = provider.createAccessToken("bench-user", roles);
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return provider.createAccessToken("bench-user", roles);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return provider.createRefreshToken("bench-user");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return provider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public String getUserId() {
+        return provider.getUserId(accessToken);
+    }
+}
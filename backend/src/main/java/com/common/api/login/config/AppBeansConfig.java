@@ -1,14 +1,56 @@
 package com.common.api.login.config;
 
+import com.common.api.login.security.BCryptCostCalibrator;
+import com.common.api.login.util.TsidGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 public class AppBeansConfig {
+
+    /**
+     * {id} 접두사 기반 DelegatingPasswordEncoder
+     * - 새 해시는 security.password.encoder (bcrypt | pbkdf2) 로 생성
+     * - 접두사 없는 기존 BCrypt 해시도 그대로 matches 가능
+     * - calibrate-target-ms > 0 이면 기동 시 하드웨어에 맞춰 BCrypt cost 결정
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.encoder:bcrypt}") String encodingId,
+            @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${security.password.bcrypt-min-strength:10}") int bcryptMinStrength,
+            @Value("${security.password.calibrate-target-ms:0}") long calibrateTargetMs
+    ) {
+        int strength = calibrateTargetMs > 0
+                ? BCryptCostCalibrator.calibrate(calibrateTargetMs, bcryptMinStrength)
+                : bcryptStrength;
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        if (!encoders.containsKey(encodingId)) {
+            throw new IllegalStateException("지원하지 않는 security.password.encoder: " + encodingId);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encodingId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+
+    /**
+     * 네이티브 INSERT 용 ID 생성기, 엔티티의 @TsidId 와 같은 node 상태를 공유
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public TsidGenerator tsidGenerator(@Value("${tsid.node:0}") int node) {
+        return TsidGenerator.forNode(node);
     }
 }
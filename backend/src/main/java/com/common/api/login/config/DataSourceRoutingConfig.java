@@ -0,0 +1,89 @@
+package com.common.api.login.config;
+
+import com.common.api.login.service.ReadYourWrites;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * datasource.replica.enabled=true 일 때만 적용 (기본은 spring.datasource 하나)
+ * - 쓰기/일반 트랜잭션 → primary (spring.datasource)
+ * - @Transactional(readOnly = true) → 복제본 (datasource.replica.urls)
+ * LazyConnectionDataSourceProxy 가 실제 커넥션 획득을 첫 SQL 까지 미루므로
+ * 트랜잭션의 readOnly 플래그를 보고 readOnlyDataSource(ReplicaRoutingDataSource)로 보낼 수 있다.
+ * */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.lag-query:SHOW SLAVE STATUS}") String lagQuery
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            throw new IllegalStateException("datasource.replica.enabled=true 인데 datasource.replica.urls 가 비어 있습니다.");
+        }
+        return new ReplicaLagMonitor(replicas, lagQuery);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWrites readYourWrites,
+            @Value("${datasource.routing.max-lag-ms:1000}") long maxLagMillis
+    ) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor, readYourWrites, maxLagMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return routingDataSource(primaryDataSource, replicaRoutingDataSource);
+    }
+
+    /**
+     * readOnly 커넥션만 복제본 라우터로 보내는 프록시 (테스트에서도 같은 조립 사용)
+     */
+    public static LazyConnectionDataSourceProxy routingDataSource(DataSource primary, ReplicaRoutingDataSource readOnly) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(readOnly);
+        return proxy;
+    }
+}
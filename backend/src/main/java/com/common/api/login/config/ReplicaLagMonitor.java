@@ -0,0 +1,104 @@
+package com.common.api.login.config;
+
+import com.common.api.login.service.ReplicationLagProbe;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * 복제본별 복제 지연 주기 조회
+ * - lag-query 결과에 Seconds_Behind_Master 열이 있으면 그 값, 없으면 첫 번째 열(초)
+ * - 결과 행이 없으면 0 (복제 대상이 아님), NULL(복제 중단)이나 조회 실패는 UNKNOWN → 라우팅에서 제외
+ * - 첫 조회 전 초기값도 UNKNOWN (확인되기 전까지 primary 에서 읽음)
+ * - 가장 느린 복제본 기준으로 ReplicationLagProbe 도 겸함 (정리 작업 감속용)
+ * */
+@Slf4j
+public class ReplicaLagMonitor implements ReplicationLagProbe {
+
+    public static final long UNKNOWN = Long.MAX_VALUE;
+
+    private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final List<DataSource> replicas;
+    private final String lagQuery;
+    private final AtomicLongArray lagMillis;
+
+    public ReplicaLagMonitor(List<DataSource> replicas, String lagQuery) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.lagMillis = new AtomicLongArray(this.replicas.size());
+        // 첫 poll() 전에는 상태를 모르므로 라우팅 대상에서 제외
+        for (int i = 0; i < this.replicas.size(); i++) {
+            this.lagMillis.set(i, UNKNOWN);
+        }
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public long lagMillis(int replicaIndex) {
+        return lagMillis.get(replicaIndex);
+    }
+
+    @Override
+    public long currentLagMillis() {
+        long max = 0L;
+        for (int i = 0; i < lagMillis.length(); i++) {
+            max = Math.max(max, lagMillis.get(i));
+        }
+        return max;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void poll() {
+        for (int i = 0; i < replicas.size(); i++) {
+            long lag;
+            try {
+                lag = queryLagMillis(replicas.get(i));
+            } catch (SQLException e) {
+                log.warn("replica {} 복제 지연 조회 실패: {}", i, e.getMessage());
+                lag = UNKNOWN;
+            }
+            lagMillis.set(i, lag);
+        }
+    }
+
+    private long queryLagMillis(DataSource replica) throws SQLException {
+        try (Connection con = replica.getConnection();
+             Statement statement = con.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long seconds = rs.getLong(lagColumn(rs.getMetaData()));
+            return rs.wasNull() ? UNKNOWN : seconds * 1000L;
+        }
+    }
+
+    private static int lagColumn(ResultSetMetaData meta) throws SQLException {
+        for (int column = 1; column <= meta.getColumnCount(); column++) {
+            if (LAG_COLUMN.equalsIgnoreCase(meta.getColumnLabel(column))) {
+                return column;
+            }
+        }
+        return 1;
+    }
+
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.common.api.login.config;
+
+import com.common.api.login.service.ReadYourWrites;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 읽기 전용 커넥션용 라우터 (LazyConnectionDataSourceProxy 의 readOnlyDataSource)
+ * - 복제본을 라운드로빈으로 선택, 지연이 max-lag-ms 를 넘거나 상태를 모르는 복제본은 건너뜀
+ * - 쓸 수 있는 복제본이 없거나 read-your-writes 로 고정된 읽기는 primary 로
+ * */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final int replicaCount;
+    private final ReadYourWrites readYourWrites;
+    private final ReplicaLagMonitor lagMonitor;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder pinnedReads = new LongAdder();
+    private final LongAdder lagFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            ReplicaLagMonitor lagMonitor,
+            ReadYourWrites readYourWrites,
+            long maxLagMillis
+    ) {
+        List<DataSource> replicas = lagMonitor.getReplicas();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.replicaCount = replicas.size();
+        this.readYourWrites = readYourWrites;
+        this.lagMonitor = lagMonitor;
+        this.maxLagMillis = maxLagMillis;
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (readYourWrites.isPinnedToPrimary()) {
+            pinnedReads.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicaCount));
+        for (int i = 0; i < replicaCount; i++) {
+            int index = (start + i) % replicaCount;
+            if (lagMonitor.lagMillis(index) <= maxLagMillis) {
+                replicaReads.increment();
+                return index;
+            }
+        }
+        lagFallbacks.increment();
+        return PRIMARY;
+    }
+
+    public long getReplicaReadCount() {
+        return replicaReads.sum();
+    }
+
+    public long getPinnedReadCount() {
+        return pinnedReads.sum();
+    }
+
+    public long getLagFallbackCount() {
+        return lagFallbacks.sum();
+    }
+}
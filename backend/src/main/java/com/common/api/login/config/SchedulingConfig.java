@@ -0,0 +1,12 @@
+package com.common.api.login.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * 메모리 정리/배치성 작업(@Scheduled)용
+ * */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -5,6 +5,7 @@ import com.common.api.login.security.JwtAuthenticationFilter;
 import com.common.api.login.security.OAuth2LoginSuccessHandler;
 import com.common.api.login.service.CustomOAuth2UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
@@ -13,6 +14,7 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @RequiredArgsConstructor
@@ -23,7 +25,15 @@ public class SecurityConfig {
     private final CustomOidcUserService customOidcUserService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Value("${management.server.port:-1}") int managementPort
+    ) throws Exception {
+        // 지표는 관리 포트(내부망)로 들어온 요청만 공개, 그 외 경로로는 관리자만
+        RequestMatcher internalPrometheus = request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+
         // TODO exceptionHandling 추가
         http
                 .cors(Customizer.withDefaults())
@@ -35,6 +45,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorizeRequests ->
                         authorizeRequests
                                 .requestMatchers("/api/auth/**").permitAll()
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers(internalPrometheus).permitAll()
+                                .requestMatchers("/actuator/prometheus").hasRole("ADMIN")
                                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                                 .requestMatchers("/api/private/**").hasAnyRole("USER", "ADMIN")
                                 .anyRequest().authenticated())
@@ -4,17 +4,28 @@ import com.common.api.login.dto.LoginRequest;
 import com.common.api.login.dto.ProfileResponse;
 import com.common.api.login.dto.SignupRequest;
 import com.common.api.login.dto.TokenResponse;
+import com.common.api.login.repository.UserRepository;
+import com.common.api.login.security.LoginThrottle;
 import com.common.api.login.service.UserService;
 import com.common.api.login.util.JwtTokenProvider;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
@@ -25,6 +36,7 @@ import java.util.UUID;
 public class UserController {
     private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/signup")
     public ResponseEntity<String> signup(@RequestBody @Valid SignupRequest request) {
@@ -38,8 +50,12 @@ public class UserController {
             @RequestHeader(value = "X-Device-Id", required = false) String deviceId,
             @CookieValue(value = "device_id", required = false) String cookieDeviceId,
             @RequestHeader(value = "User-Agent", required = false) String userAgent,
+            HttpServletRequest httpRequest,
             HttpServletResponse response
     ) {
+        // DB 조회/BCrypt 검증 전에 시도 횟수 제한 (초과 시 429)
+        loginThrottle.checkLogin(request.getUserId(), httpRequest.getRemoteAddr());
+
         // deviceId 결정 로직 (헤더 → 쿠키 → 신규 UUID + 쿠키 세팅)
         if (deviceId == null || deviceId.isBlank()) {
             deviceId = cookieDeviceId;
@@ -57,7 +73,7 @@ public class UserController {
         }
 
         // 서비스에서 토큰 쌍 발급
-        TokenResponse tokens = userService.loginUser(request, deviceId, userAgent);
+        TokenResponse tokens = userService.loginUser(request, deviceId, userAgent, httpRequest.getRemoteAddr());
 
         // RefreshToken 을 HttpOnly Secure Cookie 로 세팅
         ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", tokens.getRefreshToken())
@@ -86,11 +102,13 @@ public class UserController {
 
             @RequestHeader(value = "User-Agent", required = false) String userAgent,
 
+            HttpServletRequest httpRequest,
             HttpServletResponse response
     ) {
         if (oldRefreshToken == null || oldRefreshToken.isBlank()) {
             return ResponseEntity.noContent().build(); // 204
         }
+        loginThrottle.checkRefresh(httpRequest.getRemoteAddr());
 
         // deviceId 우선순위: 헤더 → 쿠키 → 서버에서 신규 발급
         if (deviceId == null || deviceId.isBlank()) {
@@ -111,7 +129,7 @@ public class UserController {
         }
 
         TokenResponse tokens = userService.refreshToken(
-                oldRefreshToken, deviceId, userAgent
+                oldRefreshToken, deviceId, userAgent, httpRequest.getRemoteAddr()
         );
 
         // 4. 새 RefreshToken 을 다시 HttpOnly Secure Cookie 로 세팅
@@ -128,24 +146,49 @@ public class UserController {
         return ResponseEntity.ok(Map.of("accessToken", tokens.getAccessToken()));
     }
 
+    /**
+     * 필터가 검증해 둔 principal 사용 (토큰 재파싱 없음)
+     * ETag = 사용자 PK + updated_at, If-None-Match 가 같으면 본문/직렬화 없이 304
+     * (PK 를 넣어 같은 브라우저의 다른 계정 캐시와 일치하지 않게 함)
+     */
     @GetMapping("/me")
     public ResponseEntity<ProfileResponse> getMyProfile(
-            @RequestHeader("Authorization") String authorization
+            @AuthenticationPrincipal UserDetails principal,
+            WebRequest webRequest
     ) {
-        String token = authorization.replace("Bearer ", "");
-        String userId = jwtTokenProvider.getUserId(token);
-        ProfileResponse userProfileInfo = userService.findByUserId(userId);
-        return ResponseEntity.ok(userProfileInfo);
+        if (principal == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        UserRepository.ProfileView profile = userService.findProfile(principal.getUsername());
+
+        String etag = profileEtag(profile.getId(), profile.getUpdatedAt());
+        // 200/304 모두 ETag 헤더는 checkNotModified 가 설정
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new ProfileResponse(profile.getDisplayName(), profile.getProfileImageUrl()));
+    }
+
+    private static String profileEtag(Long userPk, LocalDateTime updatedAt) {
+        String owner = Long.toHexString(userPk);
+        if (updatedAt == null) {
+            return "W/\"" + owner + "-0\"";
+        }
+        long seconds = updatedAt.toEpochSecond(ZoneOffset.UTC);
+        return "W/\"" + owner + "-" + Long.toHexString(seconds) + "." + Integer.toHexString(updatedAt.getNano()) + "\"";
     }
 
     @PostMapping("/logout")
     public ResponseEntity<String> logout(
             @RequestHeader("Authorization") String authorization,
             @RequestHeader(value = "X-Device-Id", required = false) String deviceId,
+            HttpServletRequest httpRequest,
             HttpServletResponse response
     ) {
         String accessToken = authorization.replace("Bearer ", "");
-        userService.logoutUser(accessToken, deviceId);
+        userService.logoutUser(accessToken, deviceId, httpRequest.getRemoteAddr());
 
         ResponseCookie deleteRefreshCookie = ResponseCookie.from("refreshToken", "")
                 .httpOnly(true)
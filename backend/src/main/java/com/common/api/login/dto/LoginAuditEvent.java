@@ -0,0 +1,23 @@
+package com.common.api.login.dto;
+
+import com.common.api.login.enums.LoginEventType;
+
+import java.time.LocalDateTime;
+
+/**
+ * login_audit 한 행 (userPk 는 실패 이벤트 등 알 수 없으면 null)
+ */
+public record LoginAuditEvent(
+        LoginEventType type,
+        Long userPk,
+        String userId,
+        String deviceId,
+        String ip,
+        String userAgent,
+        LocalDateTime occurredAt
+) {
+    public static LoginAuditEvent of(LoginEventType type, Long userPk, String userId,
+                                     String deviceId, String ip, String userAgent) {
+        return new LoginAuditEvent(type, userPk, userId, deviceId, ip, userAgent, LocalDateTime.now());
+    }
+}
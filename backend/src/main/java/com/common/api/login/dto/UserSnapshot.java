@@ -0,0 +1,40 @@
+package com.common.api.login.dto;
+
+import com.common.api.login.entity.user.User;
+import com.common.api.login.enums.RoleType;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 캐시 보관용 불변 사용자 스냅샷 (엔티티/영속성 컨텍스트와 분리)
+ */
+public record UserSnapshot(
+        Long id,
+        String userId,
+        String passwordHash,
+        boolean active,
+        long tokenEpoch,
+        Set<String> roleNames,
+        int roleMask,
+        String displayName,
+        String profileImageUrl
+) {
+
+    public static UserSnapshot from(User user) {
+        Set<String> roleNames = user.getUserRoles().stream()
+                .map(ur -> ur.getRole().getRoleName().name())
+                .collect(Collectors.toUnmodifiableSet());
+        return new UserSnapshot(
+                user.getId(),
+                user.getUserId(),
+                user.getPassword(),
+                Boolean.TRUE.equals(user.getIsActive()),
+                user.getTokenEpoch(),
+                roleNames,
+                RoleType.maskOf(roleNames),
+                user.getDisplayName(),
+                user.getProfileImageUrl()
+        );
+    }
+}
@@ -16,8 +16,9 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class BaseEntity {
+    // 애플리케이션 생성 TSID (IDENTITY 는 INSERT 를 즉시 실행시켜 JDBC 배치가 꺼짐)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TsidId
     private Long id;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -0,0 +1,32 @@
+package com.common.api.login.entity;
+
+import com.common.api.login.util.TsidGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.lang.reflect.Member;
+
+/*
+ * @TsidId 용 Hibernate 생성기
+ * node 는 spring.jpa.properties.tsid.node (Hibernate 설정) 에서 읽음
+ * */
+public class TsidIdentifierGenerator implements IdentifierGenerator {
+
+    public static final String NODE_SETTING = "tsid.node";
+
+    private final TsidGenerator generator;
+
+    public TsidIdentifierGenerator(TsidId config, Member idMember, GeneratorCreationContext context) {
+        ConfigurationService configuration = context.getServiceRegistry().requireService(ConfigurationService.class);
+        String node = configuration.getSetting(NODE_SETTING, StandardConverters.STRING, "0");
+        this.generator = TsidGenerator.forNode(Integer.parseInt(node.trim()));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return generator.nextId();
+    }
+}
@@ -13,7 +13,10 @@ import java.util.Map;
 
 @Entity
 @Table(name = "oauth_users",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"provider","providerUserId"}))
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_oauth_users_provider_user",
+                columnNames = {"provider", "provider_user_id"}
+        ))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OAuthUser extends BaseEntity {
@@ -1,6 +1,8 @@
 package com.common.api.login.entity.user;
 
 import com.common.api.login.entity.BaseEntity;
+import com.common.api.login.security.TokenEpochListener;
+import com.common.api.login.service.UserSnapshotInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,7 +10,9 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@EntityListeners({UserSnapshotInvalidator.class, TokenEpochListener.class})
+@Table(name = "users",
+        indexes = @Index(name = "idx_users_updated_at", columnList = "updated_at"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(exclude = {})
@@ -34,6 +38,10 @@ public class User extends BaseEntity {
     @Column(name = "email_verified", nullable = false)
     private Boolean emailVerified = false;
 
+    // 발급된 AccessToken 일괄 무효화용 (비활성화/비밀번호 변경/역할 변경 시 +1, 토큰의 ep 클레임과 비교)
+    @Column(name = "token_epoch", nullable = false)
+    private long tokenEpoch = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserRole> userRoles = new HashSet<>();
 
@@ -56,6 +64,7 @@ public class User extends BaseEntity {
 
     public void deactivate() {
         this.isActive = false;
+        bumpTokenEpoch();
     }
 
     public void verifyEmail() {
@@ -64,6 +73,7 @@ public class User extends BaseEntity {
 
     public void changePassword(String newPassword) {
         this.password = newPassword;
+        bumpTokenEpoch();
     }
 
     public void addRole(RoleEntity role) {
@@ -72,9 +82,21 @@ public class User extends BaseEntity {
                 .role(role)
                 .build();
         this.userRoles.add(mapping);
+        bumpTokenEpoch();
     }
 
     public void removeRole(RoleEntity role) {
         this.userRoles.removeIf(ur -> ur.getRole().equals(role));
+        bumpTokenEpoch();
+    }
+
+    /**
+     * 저장 전(가입 중) 엔티티는 발급된 토큰이 없으므로 0 유지
+     * (token_epoch > 0 인 사용자만 UserTokenEpochs 에 올라감)
+     */
+    private void bumpTokenEpoch() {
+        if (getId() != null) {
+            this.tokenEpoch++;
+        }
     }
 }
@@ -6,16 +6,17 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 
-// TODO 로그인 추적(ip, 이벤트 타입 등) 로그를 따로 생성할 것
+// 로그인 추적(ip, 이벤트 타입 등)은 login_audit (LoginAuditService) 에 기록
 @Entity
 @Table(name = "user_refresh_tokens",
         uniqueConstraints = @UniqueConstraint(
                 name = "uk_user_device",
                 columnNames = {"user_id", "device_id"}
         ),
+        // (user_id, device_id) 조회는 uk_user_device 로 충분 (V7 에서 중복 인덱스 제거)
         indexes = {
-                @Index(name = "idx_urt_user_device_active",
-                        columnList = "user_id, device_id, revoked, refresh_token_hash")
+                // 만료/폐기 행 정리 작업용 (폐기 시 expires_at 을 폐기 시각으로 당김)
+                @Index(name = "idx_urt_expires_at", columnList = "expires_at")
         })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -24,8 +25,9 @@ public class UserRefreshToken extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "refresh_token_hash", length = 500, nullable = false)
-    private String refreshTokenHash;
+    // SHA-256 원본 32바이트 (기존 hex 문자열 행은 V3__refresh_token_hash_binary 로 변환)
+    @Column(name = "refresh_token_hash", columnDefinition = "BINARY(32)", nullable = false)
+    private byte[] refreshTokenHash;
 
     @Column(name = "device_id", nullable = false)
     private String deviceId;
@@ -42,7 +44,7 @@ public class UserRefreshToken extends BaseEntity {
 
     @Builder
     public UserRefreshToken(User user,
-                            String refreshTokenHash,
+                            byte[] refreshTokenHash,
                             String deviceId,
                             String userAgent,
                             LocalDateTime expiresAt) {
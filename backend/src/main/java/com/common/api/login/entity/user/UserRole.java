@@ -1,6 +1,7 @@
 package com.common.api.login.entity.user;
 
 import com.common.api.login.entity.BaseEntity;
+import com.common.api.login.service.UserSnapshotInvalidator;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -11,6 +12,7 @@ import lombok.NoArgsConstructor;
 * 어떤 사용자가 어떤 역할을 가졌는지를 연결하는 중간 테이블
 * */
 @Entity
+@EntityListeners(UserSnapshotInvalidator.class)
 @Table(name = "user_roles")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
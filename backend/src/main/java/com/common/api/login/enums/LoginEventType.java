@@ -0,0 +1,10 @@
+package com.common.api.login.enums;
+
+public enum LoginEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    OAUTH_LOGIN,
+    TOKEN_REFRESH,
+    TOKEN_REFRESH_FAILURE,
+    LOGOUT
+}
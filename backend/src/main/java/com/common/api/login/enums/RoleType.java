@@ -1,6 +1,42 @@
 package com.common.api.login.enums;
 
+/*
+ * 토큰의 roles 클레임은 1 << ordinal() 비트마스크로 실린다.
+ * 이미 발급된 토큰의 의미가 바뀌므로 순서 변경/중간 삽입 금지, 새 역할은 맨 뒤에만 추가
+ * 프론트엔드(frontend/src/store/authSlice.js 의 ROLE_NAMES)도 같은 순서로 마스크를 풀기 때문에 함께 수정
+ * */
 public enum RoleType {
     ROLE_USER,
     ROLE_ADMIN,
+    ;
+
+    private static final RoleType[] VALUES = values();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * 역할 이름 목록 → 비트마스크 (모르는 이름은 무시)
+     */
+    public static int maskOf(Iterable<String> roleNames) {
+        int mask = 0;
+        for (String name : roleNames) {
+            for (RoleType type : VALUES) {
+                if (type.name().equals(name)) {
+                    mask |= type.bit();
+                    break;
+                }
+            }
+        }
+        return mask;
+    }
+
+    public static int allMask() {
+        return (1 << VALUES.length) - 1;
+    }
+
+    public static RoleType[] cachedValues() {
+        return VALUES;
+    }
 }
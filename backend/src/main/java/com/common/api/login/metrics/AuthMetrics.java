@@ -0,0 +1,150 @@
+package com.common.api.login.metrics;
+
+import com.common.api.login.enums.OAuthProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 인증 단계별 Timer/Counter
+ * - 태그 조합별 미터를 생성 시 모두 등록해 두고 필드로 보관 → 기록 시 조회/태그 객체 생성 없음
+ * - 호출 측은 System.nanoTime() 차이를 넘기기만 함 (Timer.Sample/람다 할당 없음)
+ * - Timer 는 백분위 히스토그램 버킷 포함 (Prometheus histogram_quantile 용)
+ * */
+@Component
+public class AuthMetrics {
+
+    /**
+     * 레지스트리 없이 직접 생성하는 곳(테스트/벤치마크)용, 아무것도 기록하지 않음
+     */
+    public static final AuthMetrics NOOP = new AuthMetrics(new CompositeMeterRegistry());
+
+    private final Timer jwtSign;
+    private final Timer jwtVerifyCached;
+    private final Timer jwtVerifySigned;
+    private final Timer jwtVerifyInvalid;
+
+    private final Timer passwordEncode;
+    private final Timer passwordMatch;
+    private final Timer passwordMismatch;
+
+    private final Counter refreshRotated;
+    private final Counter refreshRotateRejected;
+    private final Counter refreshRotateSkipped;
+    private final Counter refreshIssueInserted;
+    private final Counter refreshIssueReplaced;
+
+    private final Map<OAuthProvider, Timer> oauthUserInfoSuccess = new EnumMap<>(OAuthProvider.class);
+    private final Map<OAuthProvider, Timer> oauthUserInfoError = new EnumMap<>(OAuthProvider.class);
+
+    private final Timer filterAuthenticated;
+    private final Timer filterAnonymous;
+
+    public AuthMetrics(MeterRegistry registry) {
+        jwtSign = fastTimer("auth.jwt.sign", "JWT 서명", registry);
+        jwtVerifyCached = fastTimer("auth.jwt.verify", "JWT 검증", registry, "result", "cached");
+        jwtVerifySigned = fastTimer("auth.jwt.verify", "JWT 검증", registry, "result", "verified");
+        jwtVerifyInvalid = fastTimer("auth.jwt.verify", "JWT 검증", registry, "result", "invalid");
+
+        passwordEncode = slowTimer("auth.password.encode", "비밀번호 해싱 (대기 포함)", registry);
+        passwordMatch = slowTimer("auth.password.matches", "비밀번호 비교 (대기 포함)", registry, "result", "match");
+        passwordMismatch = slowTimer("auth.password.matches", "비밀번호 비교 (대기 포함)", registry, "result", "mismatch");
+
+        refreshRotated = counter("auth.refresh.rotate", registry, "outcome", "rotated");
+        refreshRotateRejected = counter("auth.refresh.rotate", registry, "outcome", "rejected");
+        refreshRotateSkipped = counter("auth.refresh.rotate", registry, "outcome", "skipped");
+        refreshIssueInserted = counter("auth.refresh.issue", registry, "result", "insert");
+        refreshIssueReplaced = counter("auth.refresh.issue", registry, "result", "update");
+
+        for (OAuthProvider provider : OAuthProvider.values()) {
+            String name = provider.name().toLowerCase(Locale.ROOT);
+            oauthUserInfoSuccess.put(provider,
+                    slowTimer("auth.oauth.userinfo", "OAuth 사용자 정보 조회", registry, "provider", name, "outcome", "success"));
+            oauthUserInfoError.put(provider,
+                    slowTimer("auth.oauth.userinfo", "OAuth 사용자 정보 조회", registry, "provider", name, "outcome", "error"));
+        }
+
+        filterAuthenticated = fastTimer("auth.filter", "JwtAuthenticationFilter 처리 시간", registry, "result", "authenticated");
+        filterAnonymous = fastTimer("auth.filter", "JwtAuthenticationFilter 처리 시간", registry, "result", "anonymous");
+    }
+
+    public void jwtSigned(long nanos) {
+        jwtSign.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void jwtVerified(long nanos, boolean cached) {
+        (cached ? jwtVerifyCached : jwtVerifySigned).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void jwtRejected(long nanos) {
+        jwtVerifyInvalid.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void passwordEncoded(long nanos) {
+        passwordEncode.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void passwordMatched(long nanos, boolean matched) {
+        (matched ? passwordMatch : passwordMismatch).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void refreshRotation(boolean rotated) {
+        (rotated ? refreshRotated : refreshRotateRejected).increment();
+    }
+
+    /**
+     * 회전 최소 나이 미만이라 행을 다시 쓰지 않고 AccessToken 만 발급
+     */
+    public void refreshRotationSkipped() {
+        refreshRotateSkipped.increment();
+    }
+
+    /**
+     * @param affectedRows issueOrReplace 반환값 (1 = INSERT, 그 외 = 기존 행 교체)
+     */
+    public void refreshIssued(int affectedRows) {
+        (affectedRows == 1 ? refreshIssueInserted : refreshIssueReplaced).increment();
+    }
+
+    public void oauthUserInfo(OAuthProvider provider, long nanos, boolean success) {
+        (success ? oauthUserInfoSuccess : oauthUserInfoError).get(provider).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void filtered(long nanos, boolean authenticated) {
+        (authenticated ? filterAuthenticated : filterAnonymous).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 마이크로초 단위 구간 (서명/검증/필터)
+    private static Timer fastTimer(String name, String description, MeterRegistry registry, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(registry);
+    }
+
+    // 밀리초~초 단위 구간 (BCrypt, 외부 HTTP)
+    private static Timer slowTimer(String name, String description, MeterRegistry registry, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static Counter counter(String name, MeterRegistry registry, String... tags) {
+        return Counter.builder(name).tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,180 @@
+package com.common.api.login.metrics;
+
+import com.common.api.login.config.ReplicaRoutingDataSource;
+import com.common.api.login.enums.OAuthProvider;
+import com.common.api.login.oauth.OAuthUserInfoClients;
+import com.common.api.login.oauth.OidcIdTokenDecoders;
+import com.common.api.login.security.AccessTokenDenylist;
+import com.common.api.login.security.LoginThrottle;
+import com.common.api.login.security.UserTokenEpochs;
+import com.common.api.login.service.LoginAuditService;
+import com.common.api.login.service.PasswordHashingService;
+import com.common.api.login.service.ReadYourWrites;
+import com.common.api.login.service.RefreshGraceCache;
+import com.common.api.login.service.RefreshTokenPurgeJob;
+import com.common.api.login.service.UserSnapshotCache;
+import com.common.api.login.util.JwtTokenProvider;
+import com.common.api.login.util.VerifiedTokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/*
+ * 각 컴포넌트가 LongAdder/필드로 이미 누적 중인 값을 스크레이프 시점에만 읽어 노출
+ * (요청 경로에서는 추가 작업 없음)
+ * */
+@Component
+public class AuthMetricsBinder implements MeterBinder {
+
+    private final LoginThrottle loginThrottle;
+    private final UserSnapshotCache userSnapshotCache;
+    private final PasswordHashingService passwordHashingService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final UserTokenEpochs userTokenEpochs;
+    private final ReadYourWrites readYourWrites;
+    private final RefreshTokenPurgeJob refreshTokenPurgeJob;
+    private final RefreshGraceCache refreshGraceCache;
+    private final LoginAuditService loginAuditService;
+    private final ObjectProvider<ReplicaRoutingDataSource> replicaRouting;
+    private final OAuthUserInfoClients oauthUserInfoClients;
+    private final OidcIdTokenDecoders oidcIdTokenDecoders;
+
+    public AuthMetricsBinder(
+            LoginThrottle loginThrottle,
+            UserSnapshotCache userSnapshotCache,
+            PasswordHashingService passwordHashingService,
+            JwtTokenProvider jwtTokenProvider,
+            AccessTokenDenylist accessTokenDenylist,
+            UserTokenEpochs userTokenEpochs,
+            ReadYourWrites readYourWrites,
+            RefreshTokenPurgeJob refreshTokenPurgeJob,
+            RefreshGraceCache refreshGraceCache,
+            LoginAuditService loginAuditService,
+            ObjectProvider<ReplicaRoutingDataSource> replicaRouting,
+            OAuthUserInfoClients oauthUserInfoClients,
+            OidcIdTokenDecoders oidcIdTokenDecoders
+    ) {
+        this.loginThrottle = loginThrottle;
+        this.userSnapshotCache = userSnapshotCache;
+        this.passwordHashingService = passwordHashingService;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.userTokenEpochs = userTokenEpochs;
+        this.readYourWrites = readYourWrites;
+        this.refreshTokenPurgeJob = refreshTokenPurgeJob;
+        this.refreshGraceCache = refreshGraceCache;
+        this.loginAuditService = loginAuditService;
+        this.replicaRouting = replicaRouting;
+        this.oauthUserInfoClients = oauthUserInfoClients;
+        this.oidcIdTokenDecoders = oidcIdTokenDecoders;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // 로그인/갱신 시도 제한
+        counter(registry, "auth.throttle.rejected", loginThrottle, LoginThrottle::getRejectedByUserIdCount, "scope", "user");
+        counter(registry, "auth.throttle.rejected", loginThrottle, LoginThrottle::getRejectedByIpCount, "scope", "ip");
+        counter(registry, "auth.throttle.rejected", loginThrottle, LoginThrottle::getRejectedRefreshCount, "scope", "refresh");
+        gauge(registry, "auth.throttle.tracked.keys", loginThrottle, LoginThrottle::getTrackedKeyCount);
+
+        // 사용자 스냅샷 캐시
+        counter(registry, "auth.user.cache.requests", userSnapshotCache, UserSnapshotCache::getHitCount, "result", "hit");
+        counter(registry, "auth.user.cache.requests", userSnapshotCache, UserSnapshotCache::getMissCount, "result", "miss");
+        timer(registry, "auth.user.cache.load", userSnapshotCache,
+                UserSnapshotCache::getLoadCount, UserSnapshotCache::getLoadNanosTotal);
+        gauge(registry, "auth.user.cache.size", userSnapshotCache, UserSnapshotCache::size);
+
+        // 비밀번호 해싱 실행기
+        timer(registry, "auth.password.executor.wait", passwordHashingService,
+                PasswordHashingService::getCompletedCount, PasswordHashingService::getWaitNanosTotal);
+        timer(registry, "auth.password.executor.compute", passwordHashingService,
+                PasswordHashingService::getCompletedCount, PasswordHashingService::getComputeNanosTotal);
+        counter(registry, "auth.password.executor.rejected", passwordHashingService, PasswordHashingService::getRejectedCount);
+        gauge(registry, "auth.password.executor.queue.depth", passwordHashingService, PasswordHashingService::getQueueDepth);
+        gauge(registry, "auth.password.executor.active", passwordHashingService, PasswordHashingService::getActiveCount);
+
+        // 검증된 JWT 캐시 / 무효화 목록
+        VerifiedTokenCache verifiedTokenCache = jwtTokenProvider.getVerifiedTokenCache();
+        counter(registry, "auth.jwt.verify.cache.requests", verifiedTokenCache, VerifiedTokenCache::getHitCount, "result", "hit");
+        counter(registry, "auth.jwt.verify.cache.requests", verifiedTokenCache, VerifiedTokenCache::getMissCount, "result", "miss");
+        gauge(registry, "auth.jwt.verify.cache.size", verifiedTokenCache, VerifiedTokenCache::size);
+        gauge(registry, "auth.jwt.denylist.size", accessTokenDenylist, AccessTokenDenylist::size);
+        gauge(registry, "auth.jwt.epoch.overrides", userTokenEpochs, UserTokenEpochs::size);
+
+        // refresh token 정리 작업
+        counter(registry, "auth.refresh.purge.deleted", refreshTokenPurgeJob, RefreshTokenPurgeJob::getPurgedTotal);
+        counter(registry, "auth.refresh.purge.runs", refreshTokenPurgeJob, RefreshTokenPurgeJob::getRunCount);
+        counter(registry, "auth.refresh.purge.paused", refreshTokenPurgeJob, RefreshTokenPurgeJob::getPausedRunCount);
+        gauge(registry, "auth.refresh.purge.last.deleted", refreshTokenPurgeJob, RefreshTokenPurgeJob::getLastRunPurged);
+        Gauge.builder("auth.refresh.purge.last.duration", refreshTokenPurgeJob, RefreshTokenPurgeJob::getLastRunMillis)
+                .baseUnit("milliseconds")
+                .register(registry);
+
+        // refresh 중복 요청 합치기
+        counter(registry, "auth.refresh.grace.requests", refreshGraceCache, RefreshGraceCache::getRotationCount, "result", "rotated");
+        counter(registry, "auth.refresh.grace.requests", refreshGraceCache, RefreshGraceCache::getJoinedInFlightCount, "result", "joined");
+        counter(registry, "auth.refresh.grace.requests", refreshGraceCache, RefreshGraceCache::getServedFromWindowCount, "result", "replayed");
+        gauge(registry, "auth.refresh.grace.size", refreshGraceCache, RefreshGraceCache::size);
+
+        // 감사 로그 파이프라인
+        gauge(registry, "auth.audit.queue.depth", loginAuditService, LoginAuditService::getQueueDepth);
+        gauge(registry, "auth.audit.queue.capacity", loginAuditService, LoginAuditService::getQueueCapacity);
+        counter(registry, "auth.audit.events", loginAuditService, LoginAuditService::getEnqueuedCount, "result", "enqueued");
+        counter(registry, "auth.audit.events", loginAuditService, LoginAuditService::getDroppedCount, "result", "dropped");
+        counter(registry, "auth.audit.events", loginAuditService, LoginAuditService::getWrittenCount, "result", "written");
+        counter(registry, "auth.audit.events", loginAuditService, LoginAuditService::getFailedCount, "result", "failed");
+        timer(registry, "auth.audit.flush", loginAuditService,
+                LoginAuditService::getFlushCount, LoginAuditService::getFlushNanosTotal);
+
+        // OAuth user-info HTTP 커넥션 풀 (제공자별)
+        for (OAuthProvider provider : OAuthUserInfoClients.SUPPORTED) {
+            String tag = provider.name().toLowerCase();
+            Gauge.builder("auth.oauth.http.pool.leased", oauthUserInfoClients, c -> c.poolStats(provider).getLeased())
+                    .tag("provider", tag).register(registry);
+            Gauge.builder("auth.oauth.http.pool.pending", oauthUserInfoClients, c -> c.poolStats(provider).getPending())
+                    .tag("provider", tag).register(registry);
+            Gauge.builder("auth.oauth.http.pool.available", oauthUserInfoClients, c -> c.poolStats(provider).getAvailable())
+                    .tag("provider", tag).register(registry);
+        }
+
+        // OIDC JWKS 캐시 (fetch 는 선조회/갱신/모르는 kid 재조회 합계)
+        counter(registry, "auth.oidc.jwks.fetches", oidcIdTokenDecoders, OidcIdTokenDecoders::getFetchCount);
+        counter(registry, "auth.oidc.jwks.fetch.failures", oidcIdTokenDecoders, OidcIdTokenDecoders::getFetchFailureCount);
+        counter(registry, "auth.oidc.jwks.refresh.ahead", oidcIdTokenDecoders, OidcIdTokenDecoders::getRefreshAheadCount);
+        counter(registry, "auth.oidc.jwks.unknown.kid", oidcIdTokenDecoders, OidcIdTokenDecoders::getUnknownKeyRefetchCount);
+
+        // 읽기 복제본 라우팅 (datasource.replica.enabled=true 일 때만)
+        gauge(registry, "db.routing.sticky.subjects", readYourWrites, ReadYourWrites::size);
+        ReplicaRoutingDataSource routing = replicaRouting.getIfAvailable();
+        if (routing != null) {
+            counter(registry, "db.routing.reads", routing, ReplicaRoutingDataSource::getReplicaReadCount, "target", "replica");
+            counter(registry, "db.routing.reads", routing, ReplicaRoutingDataSource::getPinnedReadCount, "target", "primary_pinned");
+            counter(registry, "db.routing.reads", routing, ReplicaRoutingDataSource::getLagFallbackCount, "target", "primary_lag");
+        }
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToLongFunction<T> count, String... tags) {
+        FunctionCounter.builder(name, source, s -> count.applyAsLong(s))
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static <T> void gauge(MeterRegistry registry, String name, T source, ToDoubleFunction<T> value) {
+        Gauge.builder(name, source, value).register(registry);
+    }
+
+    private static <T> void timer(MeterRegistry registry, String name, T source,
+                                  ToLongFunction<T> count, ToLongFunction<T> totalNanos) {
+        FunctionTimer.builder(name, source, count, s -> (double) totalNanos.applyAsLong(s), TimeUnit.NANOSECONDS)
+                .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.common.api.login.oauth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 카카오 user-info 요청: property_keys 를 담은 form POST
+ * 스코프 → property_keys JSON 과 URI 는 ClientRegistration 별로 한 번만 계산 (로그인마다 직렬화하지 않음)
+ * */
+public class KakaoUserInfoRequestConverter implements Converter<OAuth2UserRequest, RequestEntity<?>> {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Map<String, Prepared> prepared = new ConcurrentHashMap<>();
+
+    @Override
+    public RequestEntity<?> convert(OAuth2UserRequest userRequest) {
+        ClientRegistration reg = userRequest.getClientRegistration();
+        Prepared p = prepared.computeIfAbsent(reg.getRegistrationId(), id -> prepare(reg));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(userRequest.getAccessToken().getTokenValue());
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>(1);
+        form.add("property_keys", p.propertyKeys());
+        return new RequestEntity<>(form, headers, HttpMethod.POST, p.uri());
+    }
+
+    static String propertyKeys(Set<String> scopes) {
+        // 스코프 -> property_keys 매핑
+        List<String> keys = new ArrayList<>();
+        if (scopes.contains("profile_nickname")) keys.add("kakao_account.profile");
+        if (scopes.contains("account_email"))    keys.add("kakao_account.email");
+        if (scopes.contains("gender"))           keys.add("kakao_account.gender");
+        if (scopes.contains("age_range"))        keys.add("kakao_account.age_range");
+        if (scopes.contains("birthday"))         keys.add("kakao_account.birthday");
+        try {
+            return OBJECT_MAPPER.writeValueAsString(keys);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Prepared prepare(ClientRegistration reg) {
+        URI uri = URI.create(reg.getProviderDetails().getUserInfoEndpoint().getUri());
+        return new Prepared(uri, propertyKeys(reg.getScopes()));
+    }
+
+    private record Prepared(URI uri, String propertyKeys) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.common.api.login.oauth;
+
+import com.common.api.login.enums.OAuthProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.security.oauth2.client.http.OAuth2ErrorResponseErrorHandler;
+import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * OAuth 제공자 user-info 호출용 HTTP 클라이언트 (제공자별 커넥션 풀 분리)
+ * - keep-alive 커넥션 재사용, connect/read 타임아웃
+ * - 풀 크기(max-connections)가 제공자별 동시 호출 상한, 빈 커넥션을 acquire-timeout-ms 안에 못 얻으면 실패
+ *   → 한 제공자가 느려져도 다른 제공자/요청 스레드 전체를 묶지 않음
+ * - 호출 지연은 AuthMetrics.oauthUserInfo, 풀 상태는 AuthMetricsBinder 에서 노출
+ * */
+@Slf4j
+@Component
+public class OAuthUserInfoClients implements DisposableBean {
+
+    public static final Set<OAuthProvider> SUPPORTED = EnumSet.of(OAuthProvider.KAKAO, OAuthProvider.GOOGLE);
+
+    private final Map<OAuthProvider, Client> clients = new EnumMap<>(OAuthProvider.class);
+
+    public OAuthUserInfoClients(
+            @Value("${oauth.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${oauth.http.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${oauth.http.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${oauth.http.max-connections:50}") int maxConnections,
+            @Value("${oauth.http.idle-evict-ms:30000}") long idleEvictMs
+    ) {
+        for (OAuthProvider provider : SUPPORTED) {
+            PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                    .setDefaultConnectionConfig(ConnectionConfig.custom()
+                            .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                            .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                            .build())
+                    .setMaxConnTotal(maxConnections)
+                    .setMaxConnPerRoute(maxConnections)
+                    .build();
+            CloseableHttpClient httpClient = HttpClients.custom()
+                    .setConnectionManager(pool)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                            .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                    .disableCookieManagement()
+                    .build();
+
+            // DefaultOAuth2UserService 기본 RestTemplate 과 같은 에러 처리
+            RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+            restTemplate.setErrorHandler(new OAuth2ErrorResponseErrorHandler());
+
+            DefaultOAuth2UserService userService = new DefaultOAuth2UserService();
+            userService.setRestOperations(restTemplate);
+            if (provider == OAuthProvider.KAKAO) {
+                userService.setRequestEntityConverter(new KakaoUserInfoRequestConverter());
+            }
+            clients.put(provider, new Client(pool, httpClient, restTemplate, userService));
+        }
+    }
+
+    /**
+     * 제공자 전용 풀을 쓰는 user-info 서비스 (싱글톤, 스레드 세이프)
+     */
+    public DefaultOAuth2UserService userService(OAuthProvider provider) {
+        return client(provider).userService();
+    }
+
+    /**
+     * 같은 풀을 쓰는 RestOperations (user-info 외 제공자 호출, 예: JWKS)
+     */
+    public RestOperations restOperations(OAuthProvider provider) {
+        return client(provider).restOperations();
+    }
+
+    public PoolStats poolStats(OAuthProvider provider) {
+        return client(provider).pool().getTotalStats();
+    }
+
+    private Client client(OAuthProvider provider) {
+        Client client = clients.get(provider);
+        if (client == null) {
+            throw new IllegalArgumentException("user-info 클라이언트가 없는 제공자: " + provider);
+        }
+        return client;
+    }
+
+    @Override
+    public void destroy() {
+        for (Client client : clients.values()) {
+            try {
+                client.httpClient().close();
+            } catch (IOException e) {
+                log.debug("OAuth HTTP 클라이언트 종료 실패", e);
+            }
+        }
+    }
+
+    private record Client(PoolingHttpClientConnectionManager pool,
+                          CloseableHttpClient httpClient,
+                          RestOperations restOperations,
+                          DefaultOAuth2UserService userService) {
+    }
+}
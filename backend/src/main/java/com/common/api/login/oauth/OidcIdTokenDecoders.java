@@ -0,0 +1,279 @@
+package com.common.api.login.oauth;
+
+import com.common.api.login.enums.OAuthProvider;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.http.MediaType;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.core.oidc.OidcScopes;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestOperations;
+
+import java.net.URI;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+ * OIDC ID 토큰 디코더 (기본 OidcIdTokenDecoderFactory 대체, OAuth2LoginConfigurer 가 빈으로 찾아 사용)
+ * - registrationId 별 디코더를 한 번만 만들고 재사용
+ * - JWKS 는 기동 완료 시 미리 받아 두고, 만료(Cache-Control max-age 또는 ttl-ms) refresh-ahead-ms 전에 백그라운드 갱신
+ *   → 로그인 경로에서는 키 조회가 메모리에서 끝남
+ * - 모르는 kid(키 교체 직후)면 min-refetch-interval-ms 간격 안에서 한 번만 즉시 다시 받음
+ * - 갱신 실패 시 기존 키로 계속 검증 (제공자는 교체 전후 키를 함께 게시)
+ * */
+@Slf4j
+@Component
+public class OidcIdTokenDecoders implements JwtDecoderFactory<ClientRegistration> {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final RestOperations restOperations;
+    private final long ttlMillis;
+    private final long refreshAheadMillis;
+    private final long minRefetchIntervalMillis;
+
+    private final Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+    private final Map<String, CachedJwkSet> jwkSets = new ConcurrentHashMap<>();
+
+    private final LongAdder fetches = new LongAdder();
+    private final LongAdder fetchFailures = new LongAdder();
+    private final LongAdder refreshAheads = new LongAdder();
+    private final LongAdder unknownKeyRefetches = new LongAdder();
+
+    /**
+     * JWKS 도 구글 전용 풀 클라이언트로 호출 (OIDC 제공자는 구글뿐)
+     */
+    @Autowired
+    public OidcIdTokenDecoders(
+            OAuthUserInfoClients userInfoClients,
+            @Value("${oidc.jwks.ttl-ms:3600000}") long ttlMillis,
+            @Value("${oidc.jwks.refresh-ahead-ms:300000}") long refreshAheadMillis,
+            @Value("${oidc.jwks.min-refetch-interval-ms:30000}") long minRefetchIntervalMillis
+    ) {
+        this(userInfoClients.restOperations(OAuthProvider.GOOGLE), ttlMillis, refreshAheadMillis, minRefetchIntervalMillis);
+    }
+
+    public OidcIdTokenDecoders(RestOperations restOperations, long ttlMillis, long refreshAheadMillis, long minRefetchIntervalMillis) {
+        this.restOperations = restOperations;
+        this.ttlMillis = ttlMillis;
+        this.refreshAheadMillis = refreshAheadMillis;
+        this.minRefetchIntervalMillis = minRefetchIntervalMillis;
+    }
+
+    @Override
+    public JwtDecoder createDecoder(ClientRegistration registration) {
+        return decoders.computeIfAbsent(registration.getRegistrationId(), id -> buildDecoder(registration));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        ClientRegistrationRepository repository = event.getApplicationContext()
+                .getBeanProvider(ClientRegistrationRepository.class).getIfAvailable();
+        if (repository instanceof Iterable<?> registrations) {
+            @SuppressWarnings("unchecked")
+            Iterable<ClientRegistration> typed = (Iterable<ClientRegistration>) registrations;
+            warmUp(typed);
+        }
+    }
+
+    /**
+     * openid 스코프 등록마다 디코더 생성 + JWKS 선조회 (실패해도 기동은 계속, 첫 로그인 때 다시 시도)
+     */
+    public void warmUp(Iterable<ClientRegistration> registrations) {
+        for (ClientRegistration registration : registrations) {
+            String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+            if (!registration.getScopes().contains(OidcScopes.OPENID) || !StringUtils.hasText(jwkSetUri)) {
+                continue;
+            }
+            createDecoder(registration);
+            try {
+                jwkSets.get(jwkSetUri).refresh(null);
+                log.info("OIDC JWKS warmed: {}", registration.getRegistrationId());
+            } catch (KeySourceException e) {
+                log.warn("OIDC JWKS 선조회 실패 ({}), 첫 로그인 때 다시 시도", registration.getRegistrationId(), e);
+            }
+        }
+    }
+
+    /**
+     * 만료가 가까운 JWKS 를 요청 경로 밖에서 갱신
+     */
+    @Scheduled(fixedDelayString = "${oidc.jwks.check-interval-ms:60000}")
+    public void refreshExpiring() {
+        long now = System.currentTimeMillis();
+        for (CachedJwkSet cached : jwkSets.values()) {
+            Snapshot current = cached.snapshot;
+            if (current != null && now >= current.expiresAt() - refreshAheadMillis) {
+                try {
+                    cached.refresh(current);
+                    refreshAheads.increment();
+                } catch (KeySourceException e) {
+                    log.warn("OIDC JWKS 갱신 실패, 기존 키 유지: {}", cached.uri, e);
+                }
+            }
+        }
+    }
+
+    private JwtDecoder buildDecoder(ClientRegistration registration) {
+        String jwkSetUri = registration.getProviderDetails().getJwkSetUri();
+        if (!StringUtils.hasText(jwkSetUri)) {
+            OAuth2Error error = new OAuth2Error("missing_signature_verifier",
+                    "Failed to find a Signature Verifier for Client Registration: '"
+                            + registration.getRegistrationId() + "'. Check to ensure you have configured the JwkSet URI.",
+                    null);
+            throw new OAuth2AuthenticationException(error, error.toString());
+        }
+        CachedJwkSet jwkSource = jwkSets.computeIfAbsent(jwkSetUri, CachedJwkSet::new);
+
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // 클레임 검증은 아래 Spring 검증기에서
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(), new OidcIdTokenValidator(registration)));
+        Converter<Map<String, Object>, Map<String, Object>> claimTypeConverter =
+                new ClaimTypeConverter(OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters());
+        decoder.setClaimSetConverter(claimTypeConverter);
+        return decoder;
+    }
+
+    public long getFetchCount() {
+        return fetches.sum();
+    }
+
+    public long getFetchFailureCount() {
+        return fetchFailures.sum();
+    }
+
+    public long getRefreshAheadCount() {
+        return refreshAheads.sum();
+    }
+
+    public long getUnknownKeyRefetchCount() {
+        return unknownKeyRefetches.sum();
+    }
+
+    private record Snapshot(JWKSet keys, long fetchedAt, long expiresAt) {
+    }
+
+    /**
+     * JWKS URI 하나의 키 캐시 (읽기는 volatile 스냅샷, 갱신만 락)
+     */
+    private final class CachedJwkSet implements JWKSource<SecurityContext> {
+
+        private final String uri;
+        private final ReentrantLock refreshLock = new ReentrantLock();
+        private volatile Snapshot snapshot;
+
+        CachedJwkSet(String uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public List<JWK> get(JWKSelector selector, SecurityContext context) throws KeySourceException {
+            Snapshot current = snapshot;
+            long now = System.currentTimeMillis();
+            if (current == null || now >= current.expiresAt()) {
+                current = refreshOrStale(current);
+            }
+            List<JWK> keys = selector.select(current.keys());
+            if (keys.isEmpty() && now - current.fetchedAt() >= minRefetchIntervalMillis) {
+                unknownKeyRefetches.increment();
+                current = refreshOrStale(current);
+                keys = selector.select(current.keys());
+            }
+            return keys;
+        }
+
+        private Snapshot refreshOrStale(Snapshot seen) throws KeySourceException {
+            try {
+                return refresh(seen);
+            } catch (KeySourceException e) {
+                if (seen == null) {
+                    throw e;
+                }
+                log.warn("OIDC JWKS 조회 실패, 기존 키로 검증: {}", uri, e);
+                return seen;
+            }
+        }
+
+        /**
+         * @param seen 호출 측이 본 스냅샷, 그 사이 다른 스레드가 이미 갱신했으면 다시 받지 않음
+         */
+        Snapshot refresh(Snapshot seen) throws KeySourceException {
+            refreshLock.lock();
+            try {
+                Snapshot current = snapshot;
+                if (current != null && current != seen) {
+                    return current;
+                }
+                Snapshot fetched = fetch();
+                snapshot = fetched;
+                return fetched;
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+
+        private Snapshot fetch() throws KeySourceException {
+            fetches.increment();
+            try {
+                ResponseEntity<String> response = restOperations.exchange(
+                        RequestEntity.get(URI.create(uri)).accept(MediaType.APPLICATION_JSON).build(), String.class);
+                JWKSet keys = JWKSet.parse(response.getBody());
+                long now = System.currentTimeMillis();
+                return new Snapshot(keys, now, now + maxAgeMillis(response.getHeaders().getCacheControl()));
+            } catch (RuntimeException | ParseException e) {
+                fetchFailures.increment();
+                throw new KeySourceException("JWKS 조회 실패: " + uri, e);
+            }
+        }
+
+        private long maxAgeMillis(String cacheControl) {
+            if (cacheControl != null) {
+                Matcher matcher = MAX_AGE.matcher(cacheControl);
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1)) * 1000L;
+                }
+            }
+            return ttlMillis;
+        }
+    }
+}
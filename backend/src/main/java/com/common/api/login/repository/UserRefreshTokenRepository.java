@@ -9,40 +9,78 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRefreshTokenRepository extends JpaRepository<UserRefreshToken, Long> {
     /**
+     * 세션(기기별 refresh token) 발급: uk_user_device 기준 단일 upsert
+     * - 행이 없으면 INSERT, 있으면 해시/만료/UA 교체 + revoked 해제
+     * - 같은 기기로 동시에 로그인해도 DB 가 키 충돌을 UPDATE 로 흡수하므로 중복 키 예외가 나지 않음
+     * - id 는 호출 측 TsidGenerator 로 생성, 교체 시에도 새 id 로 바꿈
+     *   (불투명 refresh token 의 행 id 와 항상 일치, 이전 토큰의 id 로는 더 이상 찾을 수 없음)
      *
-     * */
+     * @return 1 = 새 행, 그 외(2 등) = 기존 행 교체 (MariaDB affected-rows 규칙)
+     */
+    @Transactional
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("""
-                UPDATE UserRefreshToken t
-                   SET t.refreshTokenHash = :hash,
-                       t.expiresAt       = :expiresAt,
-                       t.userAgent       = :userAgent,
-                       t.revoked         = false
-                 WHERE t.user     = :user
-                   AND t.deviceId = :deviceId
-            """)
+    @Query(value = """
+                INSERT INTO user_refresh_tokens
+                       (id, user_id, device_id, refresh_token_hash, user_agent, expires_at, revoked, created_at, updated_at)
+                VALUES (:id, :userId, :deviceId, :hash, :userAgent, :expiresAt, false, :now, :now)
+                ON DUPLICATE KEY UPDATE
+                       id                 = VALUES(id),
+                       refresh_token_hash = VALUES(refresh_token_hash),
+                       user_agent         = VALUES(user_agent),
+                       expires_at         = VALUES(expires_at),
+                       revoked            = false,
+                       updated_at         = VALUES(updated_at)
+            """, nativeQuery = true)
     int issueOrReplace(
-            @Param("user") User user,
+            @Param("id") Long id,
+            @Param("userId") Long userId,
             @Param("deviceId") String deviceId,
-            @Param("hash") String newHash,
+            @Param("hash") byte[] newHash,
             @Param("expiresAt") LocalDateTime expiresAt,
-            @Param("userAgent") String userAgent
+            @Param("userAgent") String userAgent,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 회전 최소 나이 판단용: 유효한(미폐기/미만료) 행의 마지막 발급/회전 시각 (uk_user_device 로 한 행)
+     * 비어 있으면 저장된 토큰이 아니거나 만료/폐기
+     */
+    @Query("""
+               SELECT COALESCE(t.updatedAt, t.createdAt)
+                 FROM UserRefreshToken t
+                WHERE t.user.userId = :userId
+                  AND t.deviceId    = :deviceId
+                  AND t.refreshTokenHash = :hash
+                  AND t.revoked = false
+                  AND t.expiresAt > :now
+            """)
+    Optional<LocalDateTime> findActiveRotatedAt(
+            @Param("userId") String userId,
+            @Param("deviceId") String deviceId,
+            @Param("hash") byte[] hash,
+            @Param("now") LocalDateTime now
     );
 
+    /**
+     * 조건이 맞을 때만 교체, updated_at 은 회전 시각 (RefreshRotationPolicy 기준)
+     */
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
                UPDATE UserRefreshToken t
                   SET t.refreshTokenHash = :newHash,
                       t.expiresAt    = :expiresAt,
                       t.userAgent    = :userAgent,
-                      t.revoked      = false
+                      t.revoked      = false,
+                      t.updatedAt    = :now
                 WHERE t.user.userId = :userId
                   AND t.deviceId    = :deviceId
                   AND t.refreshTokenHash= :oldHash
@@ -52,8 +90,48 @@ public interface UserRefreshTokenRepository extends JpaRepository<UserRefreshTok
     int rotateTokenIfValid(
             @Param("userId") String userId,
             @Param("deviceId") String deviceId,
-            @Param("oldHash") String oldHash,
-            @Param("newHash") String newHash,
+            @Param("oldHash") byte[] oldHash,
+            @Param("newHash") byte[] newHash,
+            @Param("expiresAt") LocalDateTime newExpiresAt,
+            @Param("userAgent") String userAgent,
+            @Param("now") LocalDateTime now
+    );
+
+    /**
+     * 불투명 refresh token 검증용 PK 단건 조회 (해시 비교/상태 판단은 호출 측)
+     */
+    @Query("""
+               SELECT t.refreshTokenHash AS refreshTokenHash,
+                      u.userId           AS userId,
+                      t.deviceId         AS deviceId,
+                      t.revoked          AS revoked,
+                      t.expiresAt        AS expiresAt,
+                      COALESCE(t.updatedAt, t.createdAt) AS rotatedAt
+                 FROM UserRefreshToken t
+                 JOIN t.user u
+                WHERE t.id = :id
+            """)
+    Optional<TokenState> findTokenStateById(@Param("id") Long id);
+
+    /**
+     * 불투명 refresh token 회전: PK + 이전 해시 조건 (동시 회전은 한 건만 성공)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+               UPDATE UserRefreshToken t
+                  SET t.refreshTokenHash = :newHash,
+                      t.expiresAt    = :expiresAt,
+                      t.userAgent    = :userAgent,
+                      t.updatedAt    = :now
+                WHERE t.id = :id
+                  AND t.refreshTokenHash = :oldHash
+                  AND t.revoked = false
+                  AND t.expiresAt > :now
+            """)
+    int rotateByIdIfValid(
+            @Param("id") Long id,
+            @Param("oldHash") byte[] oldHash,
+            @Param("newHash") byte[] newHash,
             @Param("expiresAt") LocalDateTime newExpiresAt,
             @Param("userAgent") String userAgent,
             @Param("now") LocalDateTime now
@@ -62,18 +140,21 @@ public interface UserRefreshTokenRepository extends JpaRepository<UserRefreshTok
     /**
      * 특정 디바이스의 활성화된 토큰만 소프트 삭제(revoked = true)
      * 로그아웃/보안 시나리오
+     * expires_at 도 지금으로 당겨서 정리 작업이 expires_at 인덱스 하나로 찾을 수 있게 함
      */
     @Modifying
     @Query("""
             UPDATE UserRefreshToken t
-               SET t.revoked = true
+               SET t.revoked = true,
+                   t.expiresAt = CASE WHEN t.expiresAt > :now THEN :now ELSE t.expiresAt END
              WHERE t.user = :user
                AND t.deviceId = :deviceId
                AND t.revoked = false
             """)
     int revokeByUserAndDeviceId(
             @Param("user") User user,
-            @Param("deviceId") String deviceId
+            @Param("deviceId") String deviceId,
+            @Param("now") LocalDateTime now
     );
 
     /**
@@ -82,11 +163,59 @@ public interface UserRefreshTokenRepository extends JpaRepository<UserRefreshTok
     @Modifying
     @Query("""
             UPDATE UserRefreshToken t
-               SET t.revoked = true
+               SET t.revoked = true,
+                   t.expiresAt = CASE WHEN t.expiresAt > :now THEN :now ELSE t.expiresAt END
              WHERE t.user = :user
                AND t.revoked = false
             """)
-    int revokeAllByUser(@Param("user") User user);
+    int revokeAllByUser(@Param("user") User user, @Param("now") LocalDateTime now);
+
+    /**
+     * 정리 대상 후보: (expires_at, id) 키셋 순서로 다음 청크 (idx_urt_expires_at)
+     */
+    @Query(value = """
+                SELECT id, expires_at AS expiresAt
+                  FROM user_refresh_tokens
+                 WHERE expires_at < :cutoff
+                   AND (expires_at > :afterExpiresAt
+                        OR (expires_at = :afterExpiresAt AND id > :afterId))
+                 ORDER BY expires_at, id
+                 LIMIT :limit
+            """, nativeQuery = true)
+    List<PurgeCandidate> findPurgeCandidates(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+            @Param("afterId") long afterId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * 청크 단위 물리 삭제 (청크마다 짧은 트랜잭션)
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UserRefreshToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    interface TokenState {
+        byte[] getRefreshTokenHash();
+
+        String getUserId();
+
+        String getDeviceId();
+
+        Boolean getRevoked();
+
+        LocalDateTime getExpiresAt();
+
+        LocalDateTime getRotatedAt();
+    }
+
+    interface PurgeCandidate {
+        Long getId();
+
+        LocalDateTime getExpiresAt();
+    }
 
     // 비관적 LOCK을 사용하여 조회 시점부터 해당 행에 FOR UPDATE 락 → 다른 트랜잭션은 대기 → 순차 처리
    /* @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -3,16 +3,92 @@ package com.common.api.login.repository;
 import com.common.api.login.entity.user.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUserId(String userId);
     boolean existsByEmail(String email);
+    /**
+     * 직접 선언한 조회 메서드는 SimpleJpaRepository 의 기본 읽기 전용 트랜잭션을 받지 못하므로 명시
+     * (트랜잭션 밖에서 호출되는 스냅샷 미스 조회가 복제본으로 가도록, 쓰기 트랜잭션 안에서는 그대로 합류)
+     */
+    @Transactional(readOnly = true)
     @EntityGraph(
             attributePaths = { "userRoles", "userRoles.role" }
     )
     Optional<User> findByUserId(String userId);
+
+    /**
+     * /me 응답용 (엔티티/역할 그래프 없이 프로필 컬럼과 ETag 용 id, updated_at 만)
+     */
+    @Query("""
+            SELECT u.id AS id, u.displayName AS displayName, u.profileImageUrl AS profileImageUrl, u.updatedAt AS updatedAt
+              FROM User u
+             WHERE u.userId = :userId
+            """)
+    Optional<ProfileView> findProfileByUserId(@Param("userId") String userId);
+
+    interface ProfileView {
+        Long getId();
+
+        String getDisplayName();
+
+        String getProfileImageUrl();
+
+        LocalDateTime getUpdatedAt();
+    }
+
+    /**
+     * 기동 시 1회: 저장이 필요한 사용자만 (epoch > 0 또는 비활성)
+     */
+    @Query("""
+            SELECT u.id AS id, u.tokenEpoch AS tokenEpoch, u.isActive AS isActive
+              FROM User u
+             WHERE u.tokenEpoch > 0
+                OR u.isActive = false
+            """)
+    List<TokenEpochView> findTokenEpochOverrides();
+
+    /**
+     * 증분 조회 (idx_users_updated_at)
+     */
+    @Query("""
+            SELECT u.id AS id, u.tokenEpoch AS tokenEpoch, u.isActive AS isActive
+              FROM User u
+             WHERE u.updatedAt >= :since
+            """)
+    List<TokenEpochView> findTokenEpochsUpdatedSince(@Param("since") LocalDateTime since);
+
+    interface TokenEpochView {
+        Long getId();
+
+        long getTokenEpoch();
+
+        Boolean getIsActive();
+    }
+
+    /**
+     * 로그인 시 해시 업그레이드 (다른 요청이 먼저 바꿨으면 0)
+     */
+    @Modifying
+    @Query("""
+            UPDATE User u
+               SET u.password = :newHash
+             WHERE u.id = :id
+               AND u.password = :oldHash
+            """)
+    int upgradePasswordHash(
+            @Param("id") Long id,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash
+    );
 }
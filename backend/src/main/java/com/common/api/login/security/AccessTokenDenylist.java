@@ -0,0 +1,262 @@
+package com.common.api.login.security;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * 로그아웃된 AccessToken 의 jti 거부 목록
+ * - jti 는 128bit hex(32자) → (hi, lo) 두 long 으로 보관, 값은 토큰 exp(ms)
+ * - exp 가 지난 항목은 주기적으로 제거 → 메모리 = 로그아웃 빈도 × 토큰 수명
+ * - Bloom 필터(선택)를 앞단에 두어 대부분의 정상 요청은 비트 검사만 하고 끝남 (할당 없음)
+ * - 메모리 매핑 파일에 레코드를 이어 붙여 재기동 후에도 유지 (DB 조회 없음)
+ *   파일 = [magic:int][count:int] + count × [hi:long][lo:long][expMs:long]
+ * */
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+
+    private static final int MAGIC = 0x4A544944; // "JTID"
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_BYTES = 24;
+    private static final int BLOOM_HASHES = 3;
+
+    private final ConcurrentHashMap<Key, Long> entries = new ConcurrentHashMap<>();
+    private final int bloomBits;
+    private final int maxEntries;
+    private final Path snapshotPath;
+
+    // add/sweep 은 드물게 일어나므로 lock 으로 직렬화, 조회는 lock 없이
+    private final Object writeLock = new Object();
+    private volatile AtomicLongArray bloom;
+    private MappedByteBuffer snapshot;
+    private int snapshotCount;
+
+    public AccessTokenDenylist(
+            @Value("${jwt.denylist.bloom-bits:1048576}") int bloomBits,
+            @Value("${jwt.denylist.max-entries:100000}") int maxEntries,
+            @Value("${jwt.denylist.snapshot-path:}") String snapshotPath
+    ) {
+        this.bloomBits = bloomBits > 0 ? Integer.highestOneBit(Math.max(64, bloomBits)) : 0;
+        this.maxEntries = maxEntries;
+        this.snapshotPath = snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.bloom = newBloom();
+        if (this.snapshotPath != null && maxEntries > 0) {
+            openSnapshot();
+        }
+    }
+
+    /**
+     * jti 를 exp 까지 거부 (이미 만료됐거나 jti 가 없으면 무시)
+     */
+    public void revoke(String jti, long expiresAtMs) {
+        if (!isWellFormed(jti) || expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        long hi = Long.parseUnsignedLong(jti, 0, 16, 16);
+        long lo = Long.parseUnsignedLong(jti, 16, 32, 16);
+        synchronized (writeLock) {
+            if (entries.put(new Key(hi, lo), expiresAtMs) == null) {
+                bloomAdd(bloom, hi, lo);
+                append(hi, lo, expiresAtMs);
+            }
+        }
+    }
+
+    public boolean isRevoked(String jti) {
+        if (!isWellFormed(jti)) {
+            return false;
+        }
+        long hi = Long.parseUnsignedLong(jti, 0, 16, 16);
+        long lo = Long.parseUnsignedLong(jti, 16, 32, 16);
+        AtomicLongArray bits = bloom;
+        if (bits != null && !bloomMightContain(bits, hi, lo)) {
+            return false;
+        }
+        Long exp = entries.get(new Key(hi, lo));
+        return exp != null && exp > System.currentTimeMillis();
+    }
+
+    /**
+     * 만료 항목 제거 + Bloom 필터 재구성 + 스냅샷 압축
+     */
+    @Scheduled(fixedDelayString = "${jwt.denylist.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        synchronized (writeLock) {
+            boolean removed = entries.values().removeIf(exp -> exp <= now);
+            if (!removed && snapshotCount <= entries.size()) {
+                return;
+            }
+            AtomicLongArray rebuilt = newBloom();
+            if (rebuilt != null) {
+                for (Key key : entries.keySet()) {
+                    bloomAdd(rebuilt, key.hi(), key.lo());
+                }
+            }
+            bloom = rebuilt;
+            compactSnapshot();
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @PreDestroy
+    void flush() {
+        synchronized (writeLock) {
+            if (snapshot != null) {
+                snapshot.force();
+            }
+        }
+    }
+
+    private static boolean isWellFormed(String jti) {
+        if (jti == null || jti.length() != 32) {
+            return false;
+        }
+        for (int i = 0; i < 32; i++) {
+            char c = jti.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ---- Bloom filter ----
+
+    private AtomicLongArray newBloom() {
+        return bloomBits > 0 ? new AtomicLongArray(bloomBits >>> 6) : null;
+    }
+
+    private void bloomAdd(AtomicLongArray bits, long hi, long lo) {
+        if (bits == null) {
+            return;
+        }
+        int mask = bloomBits - 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) mix(hi + i * lo) & mask;
+            int word = bit >>> 6;
+            long flag = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & flag) == 0 && !bits.compareAndSet(word, current, current | flag));
+        }
+    }
+
+    private boolean bloomMightContain(AtomicLongArray bits, long hi, long lo) {
+        int mask = bloomBits - 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) mix(hi + i * lo) & mask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // ---- memory-mapped snapshot ----
+
+    private void openSnapshot() {
+        long size = HEADER_BYTES + (long) maxEntries * RECORD_BYTES;
+        try {
+            Path parent = snapshotPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(snapshotPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                snapshot = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+        } catch (IOException e) {
+            log.warn("denylist 스냅샷 파일을 열 수 없어 메모리만 사용합니다: {}", snapshotPath, e);
+            snapshot = null;
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int count = snapshot.getInt(0) == MAGIC ? Math.min(snapshot.getInt(4), maxEntries) : 0;
+        for (int i = 0; i < count; i++) {
+            int offset = HEADER_BYTES + i * RECORD_BYTES;
+            long hi = snapshot.getLong(offset);
+            long lo = snapshot.getLong(offset + 8);
+            long exp = snapshot.getLong(offset + 16);
+            if (exp > now && entries.putIfAbsent(new Key(hi, lo), exp) == null) {
+                bloomAdd(bloom, hi, lo);
+            }
+        }
+        snapshotCount = count;
+        compactSnapshot();
+        log.info("denylist 스냅샷 로딩: {} 건 ({} 건 만료 제외)", entries.size(), count - entries.size());
+    }
+
+    // writeLock 안에서만 호출
+    private void append(long hi, long lo, long exp) {
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshotCount >= maxEntries) {
+            compactSnapshot();
+            if (snapshotCount >= maxEntries) {
+                log.warn("denylist 스냅샷이 가득 차 메모리에만 보관합니다 (max-entries={})", maxEntries);
+                return;
+            }
+        }
+        writeRecord(snapshotCount, hi, lo, exp);
+        snapshotCount++;
+        writeHeader();
+    }
+
+    // 살아 있는 항목만 처음부터 다시 씀 (sweep/가득 찼을 때만, 헤더 count 는 마지막에 갱신)
+    private void compactSnapshot() {
+        if (snapshot == null) {
+            return;
+        }
+        int index = 0;
+        for (Map.Entry<Key, Long> entry : entries.entrySet()) {
+            if (index >= maxEntries) {
+                break;
+            }
+            writeRecord(index++, entry.getKey().hi(), entry.getKey().lo(), entry.getValue());
+        }
+        snapshotCount = index;
+        writeHeader();
+    }
+
+    private void writeRecord(int index, long hi, long lo, long exp) {
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        snapshot.putLong(offset, hi);
+        snapshot.putLong(offset + 8, lo);
+        snapshot.putLong(offset + 16, exp);
+    }
+
+    private void writeHeader() {
+        snapshot.putInt(0, MAGIC);
+        snapshot.putInt(4, snapshotCount);
+    }
+
+    private record Key(long hi, long lo) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.common.api.login.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/*
+ * 현재 하드웨어에서 해시 1회가 목표 시간(ms) 이하가 되는 가장 높은 BCrypt cost 를 찾는다.
+ * cost 가 1 오를 때마다 시간이 약 2배이므로 목표를 넘는 순간 탐색을 멈춘다.
+ * */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final int MAX_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * @param targetMillis 해시 1회 목표 시간
+     * @param minStrength  보안 하한 (목표를 못 맞춰도 이 값 아래로는 내리지 않음)
+     */
+    public static int calibrate(long targetMillis, int minStrength) {
+        int chosen = minStrength;
+        for (int strength = minStrength; strength <= MAX_STRENGTH; strength++) {
+            long elapsed = medianEncodeMillis(strength);
+            log.info("BCrypt calibration: strength={} → {} ms", strength, elapsed);
+            if (elapsed > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+        log.info("BCrypt calibration: target={} ms, chosen strength={}", targetMillis, chosen);
+        return chosen;
+    }
+
+    private static long medianEncodeMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("calibration-warmup");
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password-" + i);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
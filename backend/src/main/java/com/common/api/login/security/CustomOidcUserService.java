@@ -2,9 +2,11 @@ package com.common.api.login.security;
 
 import com.common.api.login.dto.OAuth2UserInfo;
 import com.common.api.login.entity.user.User;
+import com.common.api.login.enums.OAuthProvider;
+import com.common.api.login.metrics.AuthMetrics;
 import com.common.api.login.oauth.GoogleUserInfo;
+import com.common.api.login.oauth.OAuthUserInfoClients;
 import com.common.api.login.service.UserService;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
@@ -14,24 +16,40 @@ import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
 import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class CustomOidcUserService implements OAuth2UserService<OidcUserRequest, OidcUser> {
 
     private final UserService userService; // 우리의 가입/조회 로직
+    private final AuthMetrics authMetrics;
 
+    // 로그인마다 새로 만들지 않고 공유 (스레드 세이프), userinfo 호출은 구글 전용 풀 클라이언트
+    // ID 토큰 서명 검증(JWKS)은 OidcIdTokenDecoders 가 담당
+    private final OidcUserService delegate = new OidcUserService();
+
+    public CustomOidcUserService(UserService userService, AuthMetrics authMetrics, OAuthUserInfoClients userInfoClients) {
+        this.userService = userService;
+        this.authMetrics = authMetrics;
+        this.delegate.setOauth2UserService(userInfoClients.userService(OAuthProvider.GOOGLE));
+    }
+
+    // 트랜잭션은 processOAuth2User 에서만 (userinfo HTTP 호출 동안 DB 커넥션을 잡지 않음)
     @Override
-    @Transactional
     public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
         // 1) 기본 OIDC 유저 불러오기
-        OidcUserService delegate = new OidcUserService();
-        OidcUser oidc = delegate.loadUser(userRequest);
+        long start = System.nanoTime();
+        boolean success = false;
+        OidcUser oidc;
+        try {
+            oidc = delegate.loadUser(userRequest);
+            success = true;
+        } finally {
+            authMetrics.oauthUserInfo(OAuthProvider.GOOGLE, System.nanoTime() - start, success);
+        }
 
         // 2) 구글 속성 -> 도메인 DTO
         Map<String, Object> attrs = oidc.getAttributes();
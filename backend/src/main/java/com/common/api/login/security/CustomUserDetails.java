@@ -1,5 +1,6 @@
 package com.common.api.login.security;
 
+import com.common.api.login.dto.UserSnapshot;
 import com.common.api.login.entity.user.User;
 import com.common.api.login.entity.user.UserRole;
 import org.springframework.security.core.GrantedAuthority;
@@ -25,6 +26,23 @@ public class CustomUserDetails implements UserDetails {
                 .collect(Collectors.toSet());
     }
 
+    public CustomUserDetails(UserSnapshot snapshot) {
+        this.userId = snapshot.userId();
+        this.password = snapshot.passwordHash();
+        this.enabled = snapshot.active();
+        this.authorities = RoleAuthorities.of(snapshot.roleMask());
+    }
+
+    /**
+     * 검증된 토큰 클레임만으로 구성 (stateless 모드, 비밀번호 없음)
+     */
+    public CustomUserDetails(String userId, Set<GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.password = null;
+        this.enabled = true;
+        this.authorities = authorities;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
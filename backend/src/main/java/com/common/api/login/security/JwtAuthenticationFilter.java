@@ -1,13 +1,17 @@
 package com.common.api.login.security;
 
+import com.common.api.login.metrics.AuthMetrics;
 import com.common.api.login.service.CustomUserDetailsService;
 import com.common.api.login.util.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,11 +23,35 @@ import java.io.IOException;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final UserStatusChecker userStatusChecker;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final UserTokenEpochs userTokenEpochs;
+    private final AuthMetrics authMetrics;
+
+    // true 면 DB 조회 없이 검증된 클레임(subject + roles)만으로 Authentication 구성
+    private final boolean statelessAuth;
+
+    public JwtAuthenticationFilter(
+            JwtTokenProvider jwtTokenProvider,
+            CustomUserDetailsService userDetailsService,
+            ObjectProvider<UserStatusChecker> userStatusChecker,
+            AccessTokenDenylist accessTokenDenylist,
+            UserTokenEpochs userTokenEpochs,
+            AuthMetrics authMetrics,
+            @Value("${jwt.stateless-auth:false}") boolean statelessAuth
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.userStatusChecker = userStatusChecker.getIfAvailable(() -> UserStatusChecker.ALLOW_ALL);
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.userTokenEpochs = userTokenEpochs;
+        this.authMetrics = authMetrics;
+        this.statelessAuth = statelessAuth;
+    }
 
     // 요청을 가로채거나, 인증/인가 검사, 로깅, 헤더 조작, CORS 처리, JWT 파싱 등 비즈니스에 맞는 전후 처리
     @Override
@@ -32,31 +60,78 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
+        long start = System.nanoTime();
+        boolean authenticated = false;
         String token = resolveToken(request);
+        Claims claims = token != null ? verifyQuietly(token) : null;
+        if (claims != null && isRevoked(claims)) {
+            claims = null;
+        }
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String userId = jwtTokenProvider.getUserId(token);
+        if (claims != null) {
+            String userId = claims.getSubject();
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+            UserDetails userDetails = statelessAuth
+                    ? loadFromClaims(claims, userId)
+                    : userDetailsService.loadUserByUsername(userId);
 
-            UsernamePasswordAuthenticationToken auth =
-                    new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken auth =
+                        new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
 
-            // 로그인 감시·감사 로그에 IP/세션 기록 & 세션 제어 및 동시 로그인 제한 & IP 기반 보안 정책 적용
-            auth.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request)
-            );
+                // 로그인 감시·감사 로그에 IP/세션 기록 & 세션 제어 및 동시 로그인 제한 & IP 기반 보안 정책 적용
+                auth.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
 
-            SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                authenticated = true;
+            }
         }
+        // 인증 처리 구간만 측정 (이후 체인/컨트롤러 시간 제외)
+        authMetrics.filtered(System.nanoTime() - start, authenticated);
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * stateless 모드: roles 비트마스크 클레임으로 권한 구성, 비활성 계정이면 null
+     */
+    private UserDetails loadFromClaims(Claims claims, String userId) {
+        if (!userStatusChecker.isActive(userId)) {
+            log.debug("비활성 계정의 토큰 요청 무시: {}", userId);
+            return null;
+        }
+        // 마스크별로 미리 만들어 둔 불변 권한 Set 재사용
+        return new CustomUserDetails(userId, RoleAuthorities.of(jwtTokenProvider.getRoleMask(claims)));
+    }
+
+    /**
+     * 로그아웃된 토큰(jti) 또는 발급 이후 epoch 가 올라간 사용자(비활성화/비밀번호/역할 변경)의 토큰
+     */
+    private boolean isRevoked(Claims claims) {
+        if (accessTokenDenylist.isRevoked(claims.getId())) {
+            return true;
+        }
+        long userPk = jwtTokenProvider.getUserPk(claims);
+        return userPk > 0 && !userTokenEpochs.isCurrent(userPk, jwtTokenProvider.getTokenEpoch(claims));
+    }
+
+    /**
+     * 서명/만료 검증 한 번으로 Claims 획득, 유효하지 않으면 null
+     */
+    private Claims verifyQuietly(String token) {
+        try {
+            return jwtTokenProvider.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String header = request.getHeader("Authorization");
         return (header != null && header.startsWith("Bearer "))
@@ -0,0 +1,82 @@
+package com.common.api.login.security;
+
+import com.common.api.login.util.StripedTokenBuckets;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * /api/auth/login, /api/auth/refresh 무차별 대입 방어
+ * 컨트롤러에서 UserService 호출 전에 검사하므로, 거절된 요청은 DB 조회도 BCrypt 검증도 하지 않는다.
+ * 인스턴스 메모리 기반 (인스턴스가 여러 대면 각자 따로 센다)
+ * */
+@Component
+public class LoginThrottle {
+
+    private final StripedTokenBuckets loginByUserId;
+    private final StripedTokenBuckets loginByIp;
+    private final StripedTokenBuckets refreshByIp;
+
+    private final LongAdder rejectedByUserId = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedRefresh = new LongAdder();
+
+    public LoginThrottle(
+            @Value("${security.throttle.login.user.capacity:5}") int userCapacity,
+            @Value("${security.throttle.login.user.refill-per-minute:5}") int userRefill,
+            @Value("${security.throttle.login.ip.capacity:20}") int ipCapacity,
+            @Value("${security.throttle.login.ip.refill-per-minute:20}") int ipRefill,
+            @Value("${security.throttle.refresh.ip.capacity:30}") int refreshCapacity,
+            @Value("${security.throttle.refresh.ip.refill-per-minute:60}") int refreshRefill,
+            @Value("${security.throttle.max-entries:100000}") int maxEntries
+    ) {
+        this.loginByUserId = new StripedTokenBuckets(userCapacity, userRefill, maxEntries);
+        this.loginByIp = new StripedTokenBuckets(ipCapacity, ipRefill, maxEntries);
+        this.refreshByIp = new StripedTokenBuckets(refreshCapacity, refreshRefill, maxEntries);
+    }
+
+    /**
+     * IP → userId 순으로 검사, 초과 시 429
+     */
+    public void checkLogin(String userId, String clientIp) {
+        long now = System.nanoTime();
+        if (!loginByIp.tryAcquire(clientIp, now)) {
+            rejectedByIp.increment();
+            throw tooManyRequests();
+        }
+        if (userId != null && !loginByUserId.tryAcquire(userId, now)) {
+            rejectedByUserId.increment();
+            throw tooManyRequests();
+        }
+    }
+
+    public void checkRefresh(String clientIp) {
+        if (!refreshByIp.tryAcquire(clientIp, System.nanoTime())) {
+            rejectedRefresh.increment();
+            throw tooManyRequests();
+        }
+    }
+
+    public long getRejectedByUserIdCount() {
+        return rejectedByUserId.sum();
+    }
+
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    public long getRejectedRefreshCount() {
+        return rejectedRefresh.sum();
+    }
+
+    public int getTrackedKeyCount() {
+        return loginByUserId.size() + loginByIp.size() + refreshByIp.size();
+    }
+
+    private ResponseStatusException tooManyRequests() {
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
@@ -1,10 +1,15 @@
 package com.common.api.login.security;
 
-import com.common.api.login.entity.user.User;
-import com.common.api.login.entity.user.UserRefreshToken;
+import com.common.api.login.dto.LoginAuditEvent;
+import com.common.api.login.dto.UserSnapshot;
+import com.common.api.login.enums.LoginEventType;
+import com.common.api.login.metrics.AuthMetrics;
 import com.common.api.login.repository.UserRefreshTokenRepository;
+import com.common.api.login.service.LoginAuditService;
+import com.common.api.login.service.RefreshTokenIssuer;
 import com.common.api.login.service.UserService;
 import com.common.api.login.util.JwtTokenProvider;
+import com.common.api.login.util.TsidGenerator;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,7 +29,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
-import static com.common.api.login.util.HashUtils.sha256Hex;
+import static com.common.api.login.util.HashUtils.sha256;
 
 @Component
 @RequiredArgsConstructor
@@ -33,6 +38,10 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
     private final UserRefreshTokenRepository refreshTokenRepo;
+    private final TsidGenerator tsidGenerator;
+    private final RefreshTokenIssuer refreshTokenIssuer;
+    private final LoginAuditService loginAuditService;
+    private final AuthMetrics authMetrics;
 
     @Override
     public void onAuthenticationSuccess(
@@ -44,9 +53,10 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         DefaultOAuth2User oauthUser = (DefaultOAuth2User) authentication.getPrincipal();
 //        String userId = oauthUser.getAttribute("userId");
         String userId = authentication.getName();
-        User user = userService.findByUserIdOrThrow(userId);
+        UserSnapshot user = userService.findByUserIdOrThrow(userId);
 
-        String refreshToken = jwtTokenProvider.createRefreshToken(userId);
+        long refreshRowId = tsidGenerator.nextId();
+        String refreshToken = refreshTokenIssuer.issue(userId, refreshRowId);
 
         // 3) deviceId, userAgent 결정 (OAuth2 로그인 직후라 헤더에서 꺼내기)
         String deviceId = request.getHeader("X-Device-Id");
@@ -60,16 +70,20 @@ public class OAuth2LoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         }
         String userAgent = request.getHeader("User-Agent");
 
-        // 4) DB에 RefreshToken 저장
-        UserRefreshToken entity = UserRefreshToken.builder()
-                .user(user)
-                .deviceId(deviceId)
-                .userAgent(userAgent)
-                .refreshTokenHash(sha256Hex(refreshToken))
-                .expiresAt(LocalDateTime.now()
-                        .plus(jwtTokenProvider.getRefreshTokenValidityInMs(), ChronoUnit.MILLIS))
-                .build();
-        refreshTokenRepo.save(entity);
+        // 4) DB에 RefreshToken 저장 (같은 기기 재로그인이면 기존 행 교체)
+        LocalDateTime now = LocalDateTime.now();
+        int affected = refreshTokenRepo.issueOrReplace(
+                refreshRowId,
+                user.id(),
+                deviceId,
+                sha256(refreshToken),
+                now.plus(jwtTokenProvider.getRefreshTokenValidityInMs(), ChronoUnit.MILLIS),
+                userAgent,
+                now
+        );
+        authMetrics.refreshIssued(affected);
+        loginAuditService.record(LoginAuditEvent.of(
+                LoginEventType.OAUTH_LOGIN, user.id(), userId, deviceId, request.getRemoteAddr(), userAgent));
 
         // 5) HttpOnly Cookie 에 RefreshToken 세팅
         ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", refreshToken)
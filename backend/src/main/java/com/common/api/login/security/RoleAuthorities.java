@@ -0,0 +1,66 @@
+package com.common.api.login.security;
+
+import com.common.api.login.enums.RoleType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/*
+ * roles 비트마스크 → 불변 GrantedAuthority Set
+ * 가능한 모든 조합(2^역할 수)을 클래스 로딩 시 한 번 만들어 두고 마스크로 인덱싱만 한다.
+ * 요청마다 SimpleGrantedAuthority / HashSet 을 새로 만들지 않음
+ * */
+public final class RoleAuthorities {
+
+    private static final Set<GrantedAuthority>[] BY_MASK = build();
+    private static final Set<String>[] NAMES_BY_MASK = buildNames();
+
+    private RoleAuthorities() {
+    }
+
+    public static Set<GrantedAuthority> of(int mask) {
+        return BY_MASK[mask & RoleType.allMask()];
+    }
+
+    public static Set<String> namesOf(int mask) {
+        return NAMES_BY_MASK[mask & RoleType.allMask()];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<GrantedAuthority>[] build() {
+        RoleType[] types = RoleType.cachedValues();
+        GrantedAuthority[] singles = new GrantedAuthority[types.length];
+        for (RoleType type : types) {
+            singles[type.ordinal()] = new SimpleGrantedAuthority(type.name());
+        }
+        Set<GrantedAuthority>[] sets = new Set[RoleType.allMask() + 1];
+        for (int mask = 0; mask < sets.length; mask++) {
+            Set<GrantedAuthority> set = new LinkedHashSet<>();
+            for (RoleType type : types) {
+                if ((mask & type.bit()) != 0) {
+                    set.add(singles[type.ordinal()]);
+                }
+            }
+            sets[mask] = Collections.unmodifiableSet(set);
+        }
+        return sets;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String>[] buildNames() {
+        Set<String>[] sets = new Set[RoleType.allMask() + 1];
+        for (int mask = 0; mask < sets.length; mask++) {
+            Set<String> set = new LinkedHashSet<>();
+            for (RoleType type : RoleType.cachedValues()) {
+                if ((mask & type.bit()) != 0) {
+                    set.add(type.name());
+                }
+            }
+            sets[mask] = Collections.unmodifiableSet(set);
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,44 @@
+package com.common.api.login.security;
+
+import com.common.api.login.entity.user.User;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * User 엔티티 리스너: 이 인스턴스에서 커밋된 epoch 변경을 UserTokenEpochs 에 바로 반영
+ * (다른 인스턴스는 증분 조회 주기 안에 반영)
+ * */
+@Component
+public class TokenEpochListener {
+
+    private final ObjectProvider<UserTokenEpochs> epochsProvider;
+
+    public TokenEpochListener(ObjectProvider<UserTokenEpochs> epochsProvider) {
+        this.epochsProvider = epochsProvider;
+    }
+
+    @PostUpdate
+    public void onUpdate(User user) {
+        UserTokenEpochs epochs = epochsProvider.getIfAvailable();
+        if (epochs == null || user.getId() == null) {
+            return;
+        }
+        long userPk = user.getId();
+        long epoch = user.getTokenEpoch();
+        boolean active = Boolean.TRUE.equals(user.getIsActive());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            epochs.advance(userPk, epoch, active);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                epochs.advance(userPk, epoch, active);
+            }
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.common.api.login.security;
+
+/*
+ * stateless 인증 모드에서 DB 조회 없이 토큰만으로 Authentication 을 만들 때
+ * 활성/비활성 계정 여부를 판단하기 위한 확장 지점
+ * 빈으로 등록하지 않으면 ALLOW_ALL 이 사용된다.
+ * */
+@FunctionalInterface
+public interface UserStatusChecker {
+
+    UserStatusChecker ALLOW_ALL = userId -> true;
+
+    /**
+     * @param userId 검증이 끝난 토큰의 subject
+     * @return false 면 인증 정보를 세팅하지 않음
+     */
+    boolean isActive(String userId);
+}
@@ -0,0 +1,108 @@
+package com.common.api.login.security;
+
+import com.common.api.login.repository.UserRepository;
+import com.common.api.login.util.LongLongHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/*
+ * 사용자 PK → token_epoch 메모리 테이블
+ * - 토큰의 ep 클레임이 현재 epoch 보다 작으면 거부 (비활성 계정은 INACTIVE 로 모든 토큰 거부)
+ * - epoch 0 인 활성 사용자(대다수)는 저장하지 않음 → 없으면 0 으로 간주
+ * - 조회는 StampedLock 낙관적 읽기라 요청 경로에서 락 경합/DB 조회 없음
+ * - 다른 인스턴스의 변경은 updated_at 기준 증분 조회로, 자기 인스턴스 변경은 엔티티 리스너로 즉시 반영
+ * */
+@Slf4j
+@Component
+public class UserTokenEpochs {
+
+    static final long INACTIVE = Long.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final long overlapMs;
+
+    private final StampedLock lock = new StampedLock();
+    private final LongLongHashMap epochs = new LongLongHashMap(1024);
+
+    // 스케줄러 스레드만 갱신
+    private LocalDateTime watermark;
+
+    public UserTokenEpochs(
+            UserRepository userRepository,
+            @Value("${jwt.epoch.refresh-overlap-ms:5000}") long overlapMs
+    ) {
+        this.userRepository = userRepository;
+        this.overlapMs = overlapMs;
+    }
+
+    /**
+     * @return 토큰 epoch 가 현재 값 이상이면 true
+     */
+    public boolean isCurrent(long userPk, long tokenEpoch) {
+        long stamp = lock.tryOptimisticRead();
+        long current = epochs.get(userPk, 0L);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = epochs.get(userPk, 0L);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return tokenEpoch >= current;
+    }
+
+    /**
+     * epoch 반영 (낮아지지 않음, 비활성 → 활성 전환만 예외)
+     */
+    public void advance(long userPk, long tokenEpoch, boolean active) {
+        long value = active ? tokenEpoch : INACTIVE;
+        long stamp = lock.writeLock();
+        try {
+            long existing = epochs.get(userPk, 0L);
+            if (value > existing || (existing == INACTIVE && active)) {
+                epochs.put(userPk, value);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * 첫 실행은 epoch > 0 이거나 비활성인 사용자 전체, 이후는 updated_at 증분
+     * 커밋 지연/인스턴스 간 시계 차이를 감안해 overlap 만큼 겹쳐 읽음 (반영은 멱등)
+     */
+    @Scheduled(fixedDelayString = "${jwt.epoch.refresh-interval-ms:5000}")
+    public synchronized void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<UserRepository.TokenEpochView> rows = watermark == null
+                ? userRepository.findTokenEpochOverrides()
+                : userRepository.findTokenEpochsUpdatedSince(watermark.minusNanos(overlapMs * 1_000_000));
+        for (UserRepository.TokenEpochView row : rows) {
+            boolean active = Boolean.TRUE.equals(row.getIsActive());
+            if (active && row.getTokenEpoch() == 0) {
+                continue;
+            }
+            advance(row.getId(), row.getTokenEpoch(), active);
+        }
+        if (watermark == null) {
+            log.info("token epoch 테이블 로딩: {} 건", rows.size());
+        }
+        watermark = startedAt;
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return epochs.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
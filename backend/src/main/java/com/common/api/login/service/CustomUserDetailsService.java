@@ -1,7 +1,6 @@
 package com.common.api.login.service;
 
-import com.common.api.login.entity.user.User;
-import com.common.api.login.repository.UserRepository;
+import com.common.api.login.dto.UserSnapshot;
 import com.common.api.login.security.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,11 +11,12 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
-    private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
+    // 트랜잭션 없음: 캐시 적중 시 커넥션을 잡지 않음 (미스일 때만 UserRepository.findByUserId 의 읽기 전용 트랜잭션)
     @Override
     public UserDetails loadUserByUsername(String userId) throws UsernameNotFoundException {
-        User user = userRepository.findByUserId(userId).orElseThrow(() -> new UsernameNotFoundException("해당하는 UserId의 User을 찾을 수 없음: " + userId));
+        UserSnapshot user = userSnapshotCache.get(userId).orElseThrow(() -> new UsernameNotFoundException("해당하는 UserId의 User을 찾을 수 없음: " + userId));
         return new CustomUserDetails(user);
     }
 }
@@ -0,0 +1,110 @@
+package com.common.api.login.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/*
+ * login_audit 월 파티션 관리 (MariaDB)
+ * - 이번 달부터 months-ahead 개월 뒤까지 파티션이 없으면 p_future 를 REORGANIZE 해 분리
+ *   (p_future 가 비어 있을 때 실행되므로 데이터 이동 없음)
+ * - retention-months 보다 오래된 파티션은 DROP PARTITION (행 단위 DELETE 없음)
+ * - 파티션 정보를 읽을 수 없는 DB(H2 등)에서는 아무것도 하지 않음
+ * */
+@Slf4j
+@Component
+public class LoginAuditPartitionJob {
+
+    private static final String FUTURE = "p_future";
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public LoginAuditPartitionJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${audit.login.partition.enabled:true}") boolean enabled,
+            @Value("${audit.login.partition.months-ahead:2}") int monthsAhead,
+            @Value("${audit.login.partition.retention-months:6}") int retentionMonths
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        run();
+    }
+
+    @Scheduled(cron = "${audit.login.partition.cron:0 30 3 * * *}")
+    public synchronized void run() {
+        if (!enabled) {
+            return;
+        }
+        List<String> partitions;
+        try {
+            partitions = jdbcTemplate.queryForList("""
+                    SELECT PARTITION_NAME
+                      FROM information_schema.PARTITIONS
+                     WHERE TABLE_SCHEMA = DATABASE()
+                       AND TABLE_NAME = 'login_audit'
+                       AND PARTITION_NAME IS NOT NULL
+                     ORDER BY PARTITION_ORDINAL_POSITION
+                    """, String.class);
+        } catch (DataAccessException e) {
+            log.debug("login_audit 파티션 정보를 읽을 수 없어 관리 생략: {}", e.getMessage());
+            return;
+        }
+        if (!partitions.contains(FUTURE)) {
+            return;
+        }
+
+        try {
+            maintain(partitions);
+        } catch (DataAccessException e) {
+            // 다른 인스턴스가 동시에 변경한 경우 등, 다음 주기에 다시 확인
+            log.warn("login_audit 파티션 관리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void maintain(List<String> partitions) {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = month.format(NAME);
+            if (!partitions.contains(name)) {
+                addMonth(month, name);
+            }
+        }
+
+        String oldestKept = current.minusMonths(retentionMonths).format(NAME);
+        for (String partition : partitions) {
+            // pYYYYMM 이름은 사전순 = 시간순
+            if (!FUTURE.equals(partition) && partition.compareTo(oldestKept) < 0) {
+                jdbcTemplate.execute("ALTER TABLE login_audit DROP PARTITION " + partition);
+                log.info("login_audit 파티션 삭제: {}", partition);
+            }
+        }
+    }
+
+    private void addMonth(YearMonth month, String name) {
+        String lessThan = month.plusMonths(1).atDay(1).toString();
+        jdbcTemplate.execute("ALTER TABLE login_audit REORGANIZE PARTITION " + FUTURE + " INTO ("
+                + "PARTITION " + name + " VALUES LESS THAN ('" + lessThan + "'), "
+                + "PARTITION " + FUTURE + " VALUES LESS THAN (MAXVALUE))");
+        log.info("login_audit 파티션 추가: {} (< {})", name, lessThan);
+    }
+}
@@ -0,0 +1,233 @@
+package com.common.api.login.service;
+
+import com.common.api.login.dto.LoginAuditEvent;
+import com.common.api.login.util.MpscRingBuffer;
+import com.common.api.login.util.TsidGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 로그인/토큰 이벤트 감사 로그 파이프라인
+ * - record() 는 링 버퍼에 넣기만 함 (요청 스레드에서 DB 접근 없음)
+ * - 전용 스레드가 batch-size 씩 꺼내 다중 행 INSERT 한 문장으로 login_audit 에 기록
+ * - 버퍼가 가득 차면 overflow-policy: drop(즉시 버림) | block(block-timeout-ms 까지 대기 후 버림)
+ * - 기록 실패한 배치는 재시도하지 않고 버림 (로그인 경로에 영향 주지 않는 것이 우선)
+ * */
+@Slf4j
+@Component
+public class LoginAuditService {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO login_audit (id, occurred_at, event_type, user_pk, user_id, device_id, ip, user_agent) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 8;
+
+    enum OverflowPolicy { DROP, BLOCK }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TsidGenerator tsidGenerator;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeoutNanos;
+    private final MpscRingBuffer<LoginAuditEvent> buffer;
+    private final String fullBatchSql;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile long lastFlushNanos;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public LoginAuditService(
+            JdbcTemplate jdbcTemplate,
+            TsidGenerator tsidGenerator,
+            @Value("${audit.login.enabled:true}") boolean enabled,
+            @Value("${audit.login.capacity:8192}") int capacity,
+            @Value("${audit.login.batch-size:500}") int batchSize,
+            @Value("${audit.login.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${audit.login.overflow-policy:drop}") String overflowPolicy,
+            @Value("${audit.login.block-timeout-ms:5}") long blockTimeoutMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tsidGenerator = tsidGenerator;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+        try {
+            this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("지원하지 않는 audit.login.overflow-policy: " + overflowPolicy);
+        }
+        this.buffer = new MpscRingBuffer<>(capacity);
+        this.fullBatchSql = insertSql(this.batchSize);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "login-audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    /**
+     * 요청 스레드용: 버퍼에 넣고 바로 반환 (가득 차면 정책에 따라 버림)
+     */
+    public void record(LoginAuditEvent event) {
+        if (!running) {
+            return;
+        }
+        if (!buffer.offer(event) && !(overflowPolicy == OverflowPolicy.BLOCK && offerWithin(event))) {
+            dropped.increment();
+            return;
+        }
+        enqueued.increment();
+        if (buffer.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean offerWithin(LoginAuditEvent event) {
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        LockSupport.unpark(writer);
+        while (deadline - System.nanoTime() > 0) {
+            LockSupport.parkNanos(50_000);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void runWriter() {
+        List<LoginAuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drain(batch::add, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<LoginAuditEvent> batch) {
+        int rows = batch.size();
+        Object[] args = new Object[rows * COLUMNS];
+        int i = 0;
+        for (LoginAuditEvent event : batch) {
+            args[i++] = tsidGenerator.nextId();
+            args[i++] = event.occurredAt();
+            args[i++] = event.type().name();
+            args[i++] = event.userPk();
+            args[i++] = event.userId();
+            args[i++] = event.deviceId();
+            args[i++] = truncate(event.ip(), 45);
+            args[i++] = truncate(event.userAgent(), 512);
+        }
+
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.update(rows == batchSize ? fullBatchSql : insertSql(rows), args);
+            written.add(rows);
+        } catch (RuntimeException e) {
+            failed.add(rows);
+            log.warn("login_audit {} 건 기록 실패: {}", rows, e.getMessage());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            flushes.increment();
+            flushNanos.add(elapsed);
+            lastFlushNanos = elapsed;
+        }
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 종료 시 남은 이벤트까지 기록
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getQueueCapacity() {
+        return buffer.capacity();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public long getFlushNanosTotal() {
+        return flushNanos.sum();
+    }
+
+    public long getLastFlushNanos() {
+        return lastFlushNanos;
+    }
+}
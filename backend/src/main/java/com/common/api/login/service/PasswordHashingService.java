@@ -0,0 +1,157 @@
+package com.common.api.login.service;
+
+import com.common.api.login.metrics.AuthMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * BCrypt encode/matches 전용 실행기
+ * - DB 트랜잭션(커넥션) 밖에서, 코어 수 만큼의 스레드로만 해싱
+ * - 대기열이 가득 차면 즉시 503 (요청 스레드가 해싱 대기로 쌓이지 않게)
+ * - 대기 시간(wait)과 해싱 시간(compute)을 분리해서 누적, 호출 측 전체 시간은 AuthMetrics Timer
+ * */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    // 접두사 도입 전 해시는 모두 BCryptPasswordEncoder 로 생성됨
+    private static final String LEGACY_PREFIX = "{bcrypt}";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final AuthMetrics authMetrics;
+
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder computeNanos = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            AuthMetrics authMetrics
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.authMetrics = authMetrics;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        log.info("password hashing executor: threads={}, queueCapacity={}", poolSize, queueCapacity);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String encoded = submit(() -> passwordEncoder.encode(rawPassword));
+        authMetrics.passwordEncoded(System.nanoTime() - start);
+        return encoded;
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return false; // OAuth 전용 계정 (비밀번호 없음)
+        }
+        long start = System.nanoTime();
+        boolean matched = submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        authMetrics.passwordMatched(System.nanoTime() - start, matched);
+        return matched;
+    }
+
+    /**
+     * 로그인 성공 직후 저장 해시를 교체해야 하면 새 해시, 아니면 null
+     * - 목표 알고리즘/cost 미만일 때만 재해싱
+     * - {id} 접두사 없는 기존 BCrypt 해시가 이미 목표 cost 이상이면 재해싱 없이 접두사만 추가
+     */
+    public String upgradedHash(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        if (!encodedPassword.startsWith("{")) {
+            String prefixed = LEGACY_PREFIX + encodedPassword;
+            return passwordEncoder.upgradeEncoding(prefixed) ? encode(rawPassword) : prefixed;
+        }
+        return passwordEncoder.upgradeEncoding(encodedPassword) ? encode(rawPassword) : null;
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitNanos.add(startedAt - enqueuedAt);
+                try {
+                    return task.get();
+                } finally {
+                    computeNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 해싱 대기 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("비밀번호 해싱 실패", e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getWaitNanosTotal() {
+        return waitNanos.sum();
+    }
+
+    public long getComputeNanosTotal() {
+        return computeNanos.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
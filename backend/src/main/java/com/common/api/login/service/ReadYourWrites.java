@@ -0,0 +1,83 @@
+package com.common.api.login.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * 쓰기 직후 읽기 고정 (read-your-writes)
+ * - 로그인/갱신/가입/로그아웃 등으로 userId 에 쓰기가 있었으면 sticky-ms 동안 그 사용자 읽기는 primary 로
+ * - readAs(userId, ...) 안에서 실행되는 읽기 전용 트랜잭션만 대상 (ReplicaRoutingDataSource 가 확인)
+ * - 인스턴스 로컬 기록이므로 다른 인스턴스에서는 복제 지연 기준(max-lag-ms) 폴백에 의존
+ * */
+@Component
+public class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final long stickyNanos;
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(@Value("${datasource.routing.sticky-ms:5000}") long stickyMs) {
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyMs);
+    }
+
+    public void markWritten(String subject) {
+        if (subject != null && stickyNanos > 0) {
+            pinnedUntil.put(subject, System.nanoTime() + stickyNanos);
+        }
+    }
+
+    /**
+     * subject 에 최근 쓰기가 있었으면 work 안의 읽기를 primary 로 보냄
+     */
+    public <T> T readAs(String subject, Supplier<T> work) {
+        if (!isSticky(subject)) {
+            return work.get();
+        }
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+
+    public boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    boolean isSticky(String subject) {
+        if (subject == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(subject);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        pinnedUntil.remove(subject, until);
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        pinnedUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    public int size() {
+        return pinnedUntil.size();
+    }
+}
@@ -0,0 +1,156 @@
+package com.common.api.login.service;
+
+import com.common.api.login.dto.TokenResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+ * 같은 refresh token 으로 동시에 들어온 갱신 요청 합치기 (여러 탭/스레드)
+ * - 키: (이전 토큰 SHA-256, deviceId) → 먼저 온 요청만 회전(DB UPDATE)하고 나머지는 그 결과를 기다림
+ * - 성공 결과는 window-ms 동안 보관 → 그 사이 같은 토큰으로 온 요청도 DB 쓰기 없이 같은 토큰 쌍 응답
+ * - 실패(만료/폐기 등)는 보관하지 않음, 대기 중이던 요청만 같은 예외를 받음
+ * - 인스턴스 로컬 (다른 인스턴스로 간 중복 요청은 기존처럼 회전 실패)
+ * - max-entries 에 도달하면 만료 항목을 비우고, 그래도 가득 차 있으면 보관 없이 회전만 수행
+ * */
+@Component
+public class RefreshGraceCache {
+
+    private final long windowNanos;
+    private final int maxEntries;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder rotations = new LongAdder();
+    private final LongAdder joinedInFlight = new LongAdder();
+    private final LongAdder servedFromWindow = new LongAdder();
+
+    public RefreshGraceCache(
+            @Value("${security.refresh-grace.window-ms:10000}") long windowMs,
+            @Value("${security.refresh-grace.max-entries:10000}") int maxEntries
+    ) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxEntries = maxEntries;
+    }
+
+    public TokenResponse rotate(byte[] oldTokenHash, String deviceId, Supplier<Rotated> rotation) {
+        if (windowNanos <= 0) {
+            rotations.increment();
+            return rotation.get().tokens();
+        }
+        Key key = Key.of(oldTokenHash, deviceId);
+        long now = System.nanoTime();
+
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            if (!existing.future.isDone()) {
+                joinedInFlight.increment();
+                return join(existing.future);
+            }
+            if (existing.expiresAtNanos - now > 0) {
+                servedFromWindow.increment();
+                return join(existing.future);
+            }
+            entries.remove(key, existing);
+        }
+
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+            if (entries.size() >= maxEntries) {
+                // 정리 후에도 가득 차 있으면 보관 없이 바로 회전 (합치기 생략)
+                rotations.increment();
+                return rotation.get().tokens();
+            }
+        }
+        Entry mine = new Entry();
+        Entry raced = entries.putIfAbsent(key, mine);
+        if (raced != null) {
+            joinedInFlight.increment();
+            return join(raced.future);
+        }
+
+        rotations.increment();
+        try {
+            Rotated result = rotation.get();
+            mine.userId = result.userId();
+            mine.expiresAtNanos = System.nanoTime() + windowNanos;
+            mine.future.complete(result.tokens());
+            return result.tokens();
+        } catch (RuntimeException e) {
+            entries.remove(key, mine);
+            mine.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-grace.sweep-interval-ms:30000}")
+    public void sweep() {
+        evictExpired(System.nanoTime());
+    }
+
+    /**
+     * 로그아웃 시 해당 사용자(deviceId 가 없으면 전체 디바이스)의 보관 결과 제거
+     */
+    public void evict(String userId, String deviceId) {
+        entries.entrySet().removeIf(e -> userId.equals(e.getValue().userId)
+                && (deviceId == null || deviceId.isBlank() || e.getKey().deviceId().equals(deviceId)));
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(e -> e.future.isDone() && e.expiresAtNanos - now <= 0);
+    }
+
+    private static TokenResponse join(CompletableFuture<TokenResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    public long getRotationCount() {
+        return rotations.sum();
+    }
+
+    public long getJoinedInFlightCount() {
+        return joinedInFlight.sum();
+    }
+
+    public long getServedFromWindowCount() {
+        return servedFromWindow.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 회전 결과 + 로그아웃 시 제거용 사용자 (불투명 토큰은 DB 조회 후에야 사용자를 알 수 있음)
+     */
+    public record Rotated(String userId, TokenResponse tokens) {
+    }
+
+    private static final class Entry {
+        final CompletableFuture<TokenResponse> future = new CompletableFuture<>();
+        // future 완료 전에 기록 (완료를 본 스레드는 이 값도 봄)
+        volatile String userId;
+        volatile long expiresAtNanos;
+    }
+
+    private record Key(long h0, long h1, long h2, long h3, String deviceId) {
+        static Key of(byte[] sha256, String deviceId) {
+            ByteBuffer buffer = ByteBuffer.wrap(sha256);
+            return new Key(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), deviceId);
+        }
+    }
+}
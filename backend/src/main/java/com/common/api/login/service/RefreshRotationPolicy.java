@@ -0,0 +1,33 @@
+package com.common.api.login.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * refresh token 회전 최소 나이
+ * - 마지막 발급/회전(updated_at) 후 min-age-ms 가 지나지 않은 토큰은 행을 다시 쓰지 않고 AccessToken 만 새로 발급
+ * - 0 이면 매 요청 회전 (기존 동작)
+ * */
+@Component
+public class RefreshRotationPolicy {
+
+    private final Duration minAge;
+
+    public RefreshRotationPolicy(@Value("${security.refresh-rotation.min-age-ms:300000}") long minAgeMs) {
+        this.minAge = Duration.ofMillis(Math.max(0L, minAgeMs));
+    }
+
+    public boolean isEnabled() {
+        return !minAge.isZero();
+    }
+
+    /**
+     * @param rotatedAt 저장된 행의 마지막 발급/회전 시각
+     */
+    public boolean shouldRotate(LocalDateTime rotatedAt, LocalDateTime now) {
+        return rotatedAt == null || !rotatedAt.plus(minAge).isAfter(now);
+    }
+}
@@ -0,0 +1,39 @@
+package com.common.api.login.service;
+
+import com.common.api.login.util.JwtTokenProvider;
+import com.common.api.login.util.OpaqueRefreshToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * 새 로그인 세션의 refresh token 형식 선택 (security.refresh-token.format)
+ * - jwt    : HS512 JWT (기존)
+ * - opaque : "<행 id>.<난수>" (OpaqueRefreshToken), 갱신 시 PK 조회 한 번
+ * 갱신(회전)은 제시된 토큰의 형식을 유지하므로 형식을 바꿔도 기존 세션은 그대로 동작
+ * */
+@Component
+public class RefreshTokenIssuer {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final boolean opaque;
+
+    public RefreshTokenIssuer(
+            JwtTokenProvider jwtTokenProvider,
+            @Value("${security.refresh-token.format:jwt}") String format
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.opaque = switch (format.trim().toLowerCase()) {
+            case "jwt" -> false;
+            case "opaque" -> true;
+            default -> throw new IllegalStateException(
+                    "security.refresh-token.format 은 jwt 또는 opaque 여야 합니다: " + format);
+        };
+    }
+
+    /**
+     * @param rowId issueOrReplace 에 넘길 user_refresh_tokens.id
+     */
+    public String issue(String userId, long rowId) {
+        return opaque ? OpaqueRefreshToken.create(rowId) : jwtTokenProvider.createRefreshToken(userId);
+    }
+}
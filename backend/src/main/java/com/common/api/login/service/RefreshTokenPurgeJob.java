@@ -0,0 +1,178 @@
+package com.common.api.login.service;
+
+import com.common.api.login.repository.UserRefreshTokenRepository;
+import com.common.api.login.repository.UserRefreshTokenRepository.PurgeCandidate;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * 만료/폐기된 user_refresh_tokens 행 물리 삭제
+ * - 폐기 시 expires_at 을 폐기 시각으로 당겨 두므로 대상은 expires_at < cutoff 하나로 찾음 (idx_urt_expires_at)
+ * - (expires_at, id) 키셋 순서로 batch-size 씩 조회 → id IN (...) 삭제, 청크마다 별도 트랜잭션 (락 유지 시간 제한)
+ * - max-rows-per-second 로 청크 사이 간격 조절
+ * - 커넥션 풀 대기/포화 또는 복제 지연이 기준을 넘으면 이번 실행은 중단하고 다음 주기에 이어서
+ * */
+@Slf4j
+@Component
+public class RefreshTokenPurgeJob {
+
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final UserRefreshTokenRepository refreshTokenRepository;
+    private final DataSource dataSource;
+    private final ReplicationLagProbe replicationLagProbe;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxRowsPerSecond;
+    private final long maxRunMillis;
+    private final long retentionMinutes;
+    private final double maxPoolUsage;
+    private final long maxReplicationLagMillis;
+
+    private final LongAdder purgedTotal = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder pausedRuns = new LongAdder();
+    private volatile long lastRunPurged;
+    private volatile long lastRunMillis;
+
+    public RefreshTokenPurgeJob(
+            UserRefreshTokenRepository refreshTokenRepository,
+            DataSource dataSource,
+            ObjectProvider<ReplicationLagProbe> replicationLagProbe,
+            @Value("${security.refresh-token-purge.enabled:true}") boolean enabled,
+            @Value("${security.refresh-token-purge.batch-size:500}") int batchSize,
+            @Value("${security.refresh-token-purge.max-rows-per-second:2000}") int maxRowsPerSecond,
+            @Value("${security.refresh-token-purge.max-run-ms:60000}") long maxRunMillis,
+            @Value("${security.refresh-token-purge.retention-minutes:1440}") long retentionMinutes,
+            @Value("${security.refresh-token-purge.max-pool-usage:0.8}") double maxPoolUsage,
+            @Value("${security.refresh-token-purge.max-replication-lag-ms:2000}") long maxReplicationLagMillis
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.dataSource = dataSource;
+        this.replicationLagProbe = replicationLagProbe.getIfAvailable(() -> ReplicationLagProbe.NONE);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxRunMillis = maxRunMillis;
+        this.retentionMinutes = retentionMinutes;
+        this.maxPoolUsage = maxPoolUsage;
+        this.maxReplicationLagMillis = maxReplicationLagMillis;
+    }
+
+    @Scheduled(
+            initialDelayString = "${security.refresh-token-purge.initial-delay-ms:60000}",
+            fixedDelayString = "${security.refresh-token-purge.interval-ms:600000}"
+    )
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(maxRunMillis);
+        long pauseNanos = maxRowsPerSecond > 0
+                ? TimeUnit.SECONDS.toNanos(batchSize) / maxRowsPerSecond
+                : 0L;
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+
+        LocalDateTime afterExpiresAt = KEYSET_START;
+        long afterId = 0L;
+        long purged = 0L;
+        boolean paused = false;
+
+        while (System.nanoTime() < deadline) {
+            if (shouldBackOff()) {
+                paused = true;
+                break;
+            }
+            List<PurgeCandidate> chunk = refreshTokenRepository.findPurgeCandidates(cutoff, afterExpiresAt, afterId, batchSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (PurgeCandidate candidate : chunk) {
+                ids.add(candidate.getId());
+            }
+            purged += refreshTokenRepository.deleteByIdIn(ids);
+
+            PurgeCandidate last = chunk.get(chunk.size() - 1);
+            afterExpiresAt = last.getExpiresAt();
+            afterId = last.getId();
+            if (chunk.size() < batchSize) {
+                break;
+            }
+            if (pauseNanos > 0) {
+                LockSupport.parkNanos(pauseNanos);
+            }
+        }
+
+        runs.increment();
+        purgedTotal.add(purged);
+        if (paused) {
+            pausedRuns.increment();
+        }
+        lastRunPurged = purged;
+        lastRunMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (purged > 0 || paused) {
+            log.info("refresh token purge: deleted={}, elapsed={} ms, paused={}", purged, lastRunMillis, paused);
+        }
+    }
+
+    private boolean shouldBackOff() {
+        if (replicationLagProbe.currentLagMillis() > maxReplicationLagMillis) {
+            return true;
+        }
+        HikariPoolMXBean pool = hikariPool();
+        if (pool == null) {
+            return false;
+        }
+        int total = pool.getTotalConnections();
+        return pool.getThreadsAwaitingConnection() > 0
+                || (total > 0 && (double) pool.getActiveConnections() / total >= maxPoolUsage);
+    }
+
+    private HikariPoolMXBean hikariPool() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+            }
+        } catch (SQLException e) {
+            log.debug("HikariDataSource unwrap 실패", e);
+        }
+        return null;
+    }
+
+    public long getPurgedTotal() {
+        return purgedTotal.sum();
+    }
+
+    public long getRunCount() {
+        return runs.sum();
+    }
+
+    public long getPausedRunCount() {
+        return pausedRuns.sum();
+    }
+
+    public long getLastRunPurged() {
+        return lastRunPurged;
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+}
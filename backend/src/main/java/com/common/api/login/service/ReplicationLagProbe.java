@@ -0,0 +1,16 @@
+package com.common.api.login.service;
+
+/*
+ * 배치성 쓰기 작업이 복제 지연을 키우지 않도록 확인하는 확장 지점
+ * 빈으로 등록하지 않으면 NONE (지연 없음으로 간주)
+ * */
+@FunctionalInterface
+public interface ReplicationLagProbe {
+
+    ReplicationLagProbe NONE = () -> 0L;
+
+    /**
+     * @return 현재 복제 지연(ms), 알 수 없으면 0
+     */
+    long currentLagMillis();
+}
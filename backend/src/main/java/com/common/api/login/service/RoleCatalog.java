@@ -0,0 +1,56 @@
+package com.common.api.login.service;
+
+import com.common.api.login.entity.user.RoleEntity;
+import com.common.api.login.enums.RoleType;
+import com.common.api.login.repository.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * roles 테이블(RoleType → PK)을 기동 시 한 번 읽어 두는 카탈로그
+ * 가입 시 역할 조회 쿼리 없이 getReferenceById 프록시로 user_roles 를 INSERT 한다.
+ * 역할 행은 Flyway V2__seed_roles 가 넣으며, 기동 완료(ApplicationReadyEvent) 시 로딩
+ * 그 전에 호출되면 그 자리에서 로딩
+ * */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Map<RoleType, Long> roleIds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<RoleType, Long> ids = new EnumMap<>(RoleType.class);
+        for (RoleEntity role : roleRepository.findAll()) {
+            ids.put(role.getRoleName(), role.getId());
+        }
+        roleIds = Collections.unmodifiableMap(ids);
+        log.info("role catalog loaded: {}", ids.keySet());
+    }
+
+    /**
+     * SELECT 없이 연관관계 설정용 프록시 반환 (트랜잭션 안에서 호출)
+     */
+    public RoleEntity reference(RoleType type) {
+        Map<RoleType, Long> ids = roleIds;
+        if (ids == null || !ids.containsKey(type)) {
+            load();
+            ids = roleIds;
+        }
+        Long id = ids.get(type);
+        if (id == null) {
+            throw new IllegalStateException(type + "가 roles 테이블에 존재하지 않습니다.");
+        }
+        return roleRepository.getReferenceById(id);
+    }
+}
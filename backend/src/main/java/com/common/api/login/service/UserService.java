@@ -2,36 +2,54 @@ package com.common.api.login.service;
 
 import com.common.api.login.dto.*;
 import com.common.api.login.entity.user.*;
+import com.common.api.login.enums.LoginEventType;
 import com.common.api.login.enums.OAuthProvider;
 import com.common.api.login.enums.RoleType;
+import com.common.api.login.metrics.AuthMetrics;
 import com.common.api.login.repository.*;
+import com.common.api.login.security.AccessTokenDenylist;
 import com.common.api.login.util.JwtTokenProvider;
+import com.common.api.login.util.OpaqueRefreshToken;
+import com.common.api.login.util.TsidGenerator;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
-import static com.common.api.login.util.HashUtils.sha256Hex;
+import static com.common.api.login.util.HashUtils.sha256;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
-    private final UserRoleRepository userRoleRepository;
+    private final OAuthUserRepository oauthUserRepository;
     private final UserRefreshTokenRepository refreshTokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final UserSnapshotCache userSnapshotCache;
+    private final RoleCatalog roleCatalog;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final TsidGenerator tsidGenerator;
+    private final ReadYourWrites readYourWrites;
+    private final LoginAuditService loginAuditService;
+    private final AuthMetrics authMetrics;
+    private final RefreshGraceCache refreshGraceCache;
+    private final RefreshRotationPolicy refreshRotationPolicy;
+    private final RefreshTokenIssuer refreshTokenIssuer;
 
-    @Transactional
+    /**
+     * BCrypt 해싱은 트랜잭션 밖(해싱 전용 실행기)에서 끝내고, 커넥션은 INSERT 구간에만 점유
+     */
     public void registerUser(SignupRequest request) {
         if (userRepository.existsByUserId(request.getUserId())) {
             throw new IllegalArgumentException("이미 사용 중인 아이디입니다.");
@@ -40,121 +58,195 @@ public class UserService {
             throw new IllegalArgumentException("이미 등록된 이메일입니다.");
         }
 
-        User user = User.builder()
-                .userId(request.getUserId())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .displayName(request.getDisplayName())
-                .displayName(request.getDisplayName())
-                .build();
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
 
-        RoleEntity role = roleRepository.findByRoleName(RoleType.ROLE_USER)
-                .orElseThrow(() -> new IllegalStateException("ROLE_USER가 존재하지 않습니다."));
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = User.builder()
+                    .userId(request.getUserId())
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .displayName(request.getDisplayName())
+                    .build();
 
-        user.addRole(role);
-        userRepository.save(user);
+            // 역할 조회 쿼리 없이 PK 프록시로 연결
+            user.addRole(roleCatalog.reference(RoleType.ROLE_USER));
+            userRepository.save(user);
+        });
+        readYourWrites.markWritten(request.getUserId());
     }
 
     @Transactional
     public User processOAuth2User(OAuth2UserInfo info) {
-        // 1) userId(=providerUserId) 로 먼저 조회
+        // 1) userId(=providerUserId) 로 먼저 조회, 2) 없으면 새로 가입
         return userRepository.findByUserId(info.getId())
-                .orElseGet(() -> {
-                    // 2) 없으면 새로 가입
-                    User newUser = User.builder()
-                            .userId(info.getId())
-                            .email(info.getEmail())
-                            .password(null)                       // OAuth 로 로그인하므로 비밀번호 없음
-                            .displayName(info.getDisplayName())   // 닉네임 또는 이름
-                            .build();
-                    newUser = userRepository.save(newUser);
-
-                    // 3) 기본 ROLE_USER 할당
-                    RoleEntity userRole = roleRepository.findByRoleName(RoleType.ROLE_USER)
-                            .orElseThrow(() ->
-                                    new IllegalStateException("ROLE_USER가 미리 설정되어 있어야 합니다.")
-                            );
-
-                    UserRole ur = UserRole.builder()
-                            .user(newUser)
-                            .role(userRole)
-                            .build();
-                    userRoleRepository.save(ur);
-
-                    return newUser;
-                });
+                .orElseGet(() -> registerOAuth2User(info));
     }
 
+    /**
+     * users / user_roles / oauth_users 를 한 트랜잭션에서 upsert
+     * 처음 로그인한 사용자는 oauth_users 행이 있을 수 없으므로 조회 없이 INSERT
+     * (세 INSERT 는 커밋 시 flush 에서 한꺼번에 실행)
+     */
     @Transactional
-    public TokenResponse loginUser(LoginRequest request, String deviceId, String userAgent) {
-        User user = userRepository.findByUserId(request.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("등록되지 않은 아이디입니다."));
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new IllegalArgumentException("비밀번호가 올바르지 않습니다.");
+    public User processOAuth2Login(OAuthProvider provider, OAuth2UserInfo info, Map<String, Object> attributes) {
+        User existing = userRepository.findByUserId(info.getId()).orElse(null);
+        if (existing == null) {
+            User newUser = registerOAuth2User(info);
+            oauthUserRepository.save(newOAuthUser(newUser, provider, info, attributes));
+            return newUser;
+        }
+
+        OAuthUser oauthUser = oauthUserRepository.findByProviderAndProviderUserId(provider, info.getId())
+                .orElse(null);
+        if (oauthUser == null) {
+            oauthUserRepository.save(newOAuthUser(existing, provider, info, attributes));
+        } else {
+            oauthUser.updateProfile(info.getEmail(), info.getDisplayName(), info.getProfileImageUrl(), attributes);
         }
+        return existing;
+    }
+
+    private User registerOAuth2User(OAuth2UserInfo info) {
+        User newUser = User.builder()
+                .userId(info.getId())
+                .email(info.getEmail())
+                .password(null)                       // OAuth 로 로그인하므로 비밀번호 없음
+                .displayName(info.getDisplayName())   // 닉네임 또는 이름
+                .build();
+
+        // 3) 기본 ROLE_USER 할당 (cascade 로 user_roles 함께 INSERT)
+        newUser.addRole(roleCatalog.reference(RoleType.ROLE_USER));
+        return userRepository.save(newUser);
+    }
+
+    private OAuthUser newOAuthUser(User user, OAuthProvider provider, OAuth2UserInfo info, Map<String, Object> attributes) {
+        return OAuthUser.builder()
+                .user(user)
+                .provider(provider)
+                .providerUserId(info.getId())
+                .email(info.getEmail())
+                .displayName(info.getDisplayName())
+                .profileImageUrl(info.getProfileImageUrl())
+                .rawAttributes(attributes)
+                .build();
+    }
+
+    /**
+     * 조회 → (트랜잭션 밖) 비밀번호 검증 → 토큰 발급 → 짧은 쓰기 트랜잭션
+     */
+    public TokenResponse loginUser(LoginRequest request, String deviceId, String userAgent, String clientIp) {
         if (deviceId == null || deviceId.isBlank()) {
             throw new IllegalArgumentException("deviceId가 없습니다.");
         }
+        UserSnapshot user = userSnapshotCache.get(request.getUserId()).orElse(null);
+        if (user == null) {
+            audit(LoginEventType.LOGIN_FAILURE, null, request.getUserId(), deviceId, clientIp, userAgent);
+            throw new IllegalArgumentException("등록되지 않은 아이디입니다.");
+        }
+        if (!passwordHashingService.matches(request.getPassword(), user.passwordHash())) {
+            audit(LoginEventType.LOGIN_FAILURE, user.id(), user.userId(), deviceId, clientIp, userAgent);
+            throw new IllegalArgumentException("비밀번호가 올바르지 않습니다.");
+        }
+        // 목표 cost/알고리즘 미만 해시면 평문이 있는 지금 재해싱 (해당 없으면 null)
+        String upgradedHash = passwordHashingService.upgradedHash(request.getPassword(), user.passwordHash());
 
         // 같은 기기(deviceId)에 남아 있는 활성 토큰 soft-revoke
 //        refreshTokenRepository.revokeByUserAndDeviceId(user, deviceId);
 
-        // UserRole 대신 roleName 스트링 목록으로 변환
-        Set<String> roleNames = user.getUserRoles().stream()
-                .map(ur -> ur.getRole().getRoleName().name())
-                .collect(Collectors.toSet());
-
         // 토큰 생성
-        String accessToken = jwtTokenProvider.createAccessToken(user.getUserId(), roleNames);
-        String refreshToken = jwtTokenProvider.createRefreshToken(user.getUserId());
+        String accessToken = jwtTokenProvider.createAccessToken(user.userId(), user.id(), user.tokenEpoch(), user.roleMask());
+        long refreshRowId = tsidGenerator.nextId();
+        String refreshToken = refreshTokenIssuer.issue(user.userId(), refreshRowId);
 
         // ChronoUnit.MILLIS 를 이용해 refreshTokenValidityInMs 밀리초만큼 더한 LocalDateTime 을 생성
         LocalDateTime refreshExpiry = LocalDateTime.now()
                 .plus(jwtTokenProvider.getRefreshTokenValidityInMs(), ChronoUnit.MILLIS);
 
-        // 1) 해당 기기의 행이 있으면 UPDATE로 교체 (revoked=false로 복구)
-        int updated = refreshTokenRepository.issueOrReplace(
-                user, deviceId, sha256Hex(refreshToken), refreshExpiry, userAgent
-        );
-
-        // 2) 없으면 새로 INSERT (unique (user_id, device_id) 위배 안 됨)
-        if (updated == 0) {
-            UserRefreshToken rt = UserRefreshToken.builder()
-                    .user(user)
-                    .refreshTokenHash(sha256Hex(refreshToken))
-                    .deviceId(deviceId)
-                    .userAgent(userAgent)
-                    .expiresAt(refreshExpiry)
-                    .build();
-            refreshTokenRepository.save(rt);
+        byte[] refreshTokenHash = sha256(refreshToken);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (upgradedHash != null) {
+                userRepository.upgradePasswordHash(user.id(), user.passwordHash(), upgradedHash);
+            }
+
+            // 기기별 행 INSERT 또는 교체 (revoked=false로 복구), 한 문장으로 처리
+            int affected = refreshTokenRepository.issueOrReplace(
+                    refreshRowId, user.id(), deviceId, refreshTokenHash, refreshExpiry, userAgent, LocalDateTime.now()
+            );
+            authMetrics.refreshIssued(affected);
+        });
+        readYourWrites.markWritten(user.userId());
+        if (upgradedHash != null) {
+            // 벌크 UPDATE 는 엔티티 리스너를 거치지 않으므로 직접 무효화
+            userSnapshotCache.invalidate(user.userId());
         }
+        audit(LoginEventType.LOGIN_SUCCESS, user.id(), user.userId(), deviceId, clientIp, userAgent);
 
         return new TokenResponse(accessToken, refreshToken);
     }
 
-    @Transactional
+    /**
+     * 같은 토큰으로 동시에/연달아 들어온 요청은 RefreshGraceCache 가 한 번의 회전으로 합침
+     * (grace window 안의 중복 요청은 DB 쓰기 없이 같은 토큰 쌍)
+     * 불투명 토큰(행 id + "." + 난수)은 PK 조회, 그 외는 JWT 검증 후 (user, device, hash) 조건으로 처리
+     */
     public TokenResponse refreshToken(
             String oldRefreshToken,
             String deviceId,
-            String userAgent
+            String userAgent,
+            String clientIp
     ) {
         if (deviceId == null || deviceId.isBlank()) {
             throw new IllegalArgumentException("deviceId가 없습니다.");
         }
-        if (!jwtTokenProvider.validateToken(oldRefreshToken)) {
-            throw new IllegalArgumentException("만료되었거나 잘못된 리프레시 토큰입니다.");
+        long rowId = OpaqueRefreshToken.parseRowId(oldRefreshToken);
+        if (rowId > 0) {
+            byte[] oldHash = sha256(oldRefreshToken);
+            return refreshGraceCache.rotate(oldHash, deviceId, () -> transactionTemplate.execute(
+                    status -> rotateOpaqueRefreshToken(rowId, oldRefreshToken, oldHash, deviceId, userAgent, clientIp)
+            ));
         }
 
-        String userId = jwtTokenProvider.getUserId(oldRefreshToken);
+        String userId;
+        try {
+            userId = jwtTokenProvider.verify(oldRefreshToken).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            audit(LoginEventType.TOKEN_REFRESH_FAILURE, null, null, deviceId, clientIp, userAgent);
+            throw new IllegalArgumentException("만료되었거나 잘못된 리프레시 토큰입니다.");
+        }
+        byte[] oldHash = sha256(oldRefreshToken);
+        return refreshGraceCache.rotate(oldHash, deviceId, () -> transactionTemplate.execute(
+                status -> rotateRefreshToken(userId, oldRefreshToken, oldHash, deviceId, userAgent, clientIp)
+        ));
+    }
 
+    private RefreshGraceCache.Rotated rotateRefreshToken(
+            String userId,
+            String oldRefreshToken,
+            byte[] oldHash,
+            String deviceId,
+            String userAgent,
+            String clientIp
+    ) {
         // (roles이 필요하면 조회)
-        User user = userRepository.findByUserId(userId)
+        UserSnapshot user = userSnapshotCache.get(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        Set<String> roleNames = user.getUserRoles().stream()
-                .map(ur -> ur.getRole().getRoleName().name())
-                .collect(Collectors.toSet());
 
-        String newAccessToken  = jwtTokenProvider.createAccessToken(userId, roleNames);
+        String newAccessToken  = jwtTokenProvider.createAccessToken(userId, user.id(), user.tokenEpoch(), user.roleMask());
+
+        // 회전 최소 나이 미만: 인덱스 조회로 저장된 해시만 확인하고 refresh token 은 그대로 (행 쓰기 없음)
+        if (refreshRotationPolicy.isEnabled()) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime rotatedAt = refreshTokenRepository.findActiveRotatedAt(userId, deviceId, oldHash, now)
+                    .orElse(null);
+            if (rotatedAt == null) {
+                throw rotationRejected(user.id(), userId, deviceId, clientIp, userAgent);
+            }
+            if (!refreshRotationPolicy.shouldRotate(rotatedAt, now)) {
+                return rotationSkipped(user, oldRefreshToken, newAccessToken, deviceId, clientIp, userAgent);
+            }
+        }
+
         String newRefreshToken = jwtTokenProvider.createRefreshToken(userId);
         LocalDateTime newExpiry = LocalDateTime.now()
                 .plus(jwtTokenProvider.getRefreshTokenValidityInMs(), ChronoUnit.MILLIS);
@@ -163,33 +255,96 @@ public class UserService {
         int updated = refreshTokenRepository.rotateTokenIfValid(
                 userId,
                 deviceId,
-                sha256Hex(oldRefreshToken),
-                sha256Hex(newRefreshToken),
+                oldHash,
+                sha256(newRefreshToken),
                 newExpiry,
                 userAgent,
                 LocalDateTime.now()
         );
+        return rotated(updated, user, newAccessToken, newRefreshToken, deviceId, clientIp, userAgent);
+    }
+
+    /**
+     * PK 한 번 조회 → 해시 상수 시간 비교 → (필요 시) 같은 행을 새 난수로 회전, JWT 파싱/서명 없음
+     */
+    private RefreshGraceCache.Rotated rotateOpaqueRefreshToken(
+            long rowId,
+            String oldRefreshToken,
+            byte[] oldHash,
+            String deviceId,
+            String userAgent,
+            String clientIp
+    ) {
+        LocalDateTime now = LocalDateTime.now();
+        UserRefreshTokenRepository.TokenState state = refreshTokenRepository.findTokenStateById(rowId).orElse(null);
+        if (state == null
+                || !MessageDigest.isEqual(state.getRefreshTokenHash(), oldHash)
+                || !deviceId.equals(state.getDeviceId())
+                || Boolean.TRUE.equals(state.getRevoked())
+                || !state.getExpiresAt().isAfter(now)) {
+            throw rotationRejected(null, state != null ? state.getUserId() : null, deviceId, clientIp, userAgent);
+        }
+
+        String userId = state.getUserId();
+        UserSnapshot user = userSnapshotCache.get(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        String newAccessToken = jwtTokenProvider.createAccessToken(userId, user.id(), user.tokenEpoch(), user.roleMask());
+
+        if (!refreshRotationPolicy.shouldRotate(state.getRotatedAt(), now)) {
+            return rotationSkipped(user, oldRefreshToken, newAccessToken, deviceId, clientIp, userAgent);
+        }
+
+        String newRefreshToken = OpaqueRefreshToken.create(rowId);
+        LocalDateTime newExpiry = now.plus(jwtTokenProvider.getRefreshTokenValidityInMs(), ChronoUnit.MILLIS);
 
+        // 조회와 UPDATE 사이에 다른 요청이 회전했으면 oldHash 조건에서 0건
+        int updated = refreshTokenRepository.rotateByIdIfValid(
+                rowId, oldHash, sha256(newRefreshToken), newExpiry, userAgent, now);
+        return rotated(updated, user, newAccessToken, newRefreshToken, deviceId, clientIp, userAgent);
+    }
+
+    private RefreshGraceCache.Rotated rotated(
+            int updated, UserSnapshot user, String newAccessToken, String newRefreshToken,
+            String deviceId, String clientIp, String userAgent
+    ) {
         if (updated == 0) {
-            throw new IllegalArgumentException("저장된 리프레시 토큰이 아니거나 만료/폐기되었습니다.");
+            throw rotationRejected(user.id(), user.userId(), deviceId, clientIp, userAgent);
         }
+        authMetrics.refreshRotation(true);
+        readYourWrites.markWritten(user.userId());
+        audit(LoginEventType.TOKEN_REFRESH, user.id(), user.userId(), deviceId, clientIp, userAgent);
+        return new RefreshGraceCache.Rotated(user.userId(), new TokenResponse(newAccessToken, newRefreshToken));
+    }
 
-        return new TokenResponse(newAccessToken, newRefreshToken);
+    private RefreshGraceCache.Rotated rotationSkipped(
+            UserSnapshot user, String oldRefreshToken, String newAccessToken,
+            String deviceId, String clientIp, String userAgent
+    ) {
+        authMetrics.refreshRotationSkipped();
+        audit(LoginEventType.TOKEN_REFRESH, user.id(), user.userId(), deviceId, clientIp, userAgent);
+        return new RefreshGraceCache.Rotated(user.userId(), new TokenResponse(newAccessToken, oldRefreshToken));
     }
 
-    @Transactional
-    public User findByUserIdOrThrow(String userId) {
-        return userRepository.findByUserId(userId)
+    private IllegalArgumentException rotationRejected(
+            Long userPk, String userId, String deviceId, String clientIp, String userAgent
+    ) {
+        authMetrics.refreshRotation(false);
+        audit(LoginEventType.TOKEN_REFRESH_FAILURE, userPk, userId, deviceId, clientIp, userAgent);
+        return new IllegalArgumentException("저장된 리프레시 토큰이 아니거나 만료/폐기되었습니다.");
+    }
+
+    public UserSnapshot findByUserIdOrThrow(String userId) {
+        return userSnapshotCache.get(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다: " + userId));
     }
 
-    @Transactional
-    public ProfileResponse findByUserId(String userId) {
-        User user = userRepository.findByUserId(userId).orElseThrow(() -> new UsernameNotFoundException("해당하는 userId의 정보를 찾을 수 없습니다.: " + userId));
-        return new ProfileResponse(
-                user.getDisplayName(),
-                user.getProfileImageUrl()
-        );
+    /**
+     * 프로필 컬럼만 조회 (읽기 전용, 방금 쓰기가 있었던 사용자는 primary)
+     */
+    @Transactional(readOnly = true)
+    public UserRepository.ProfileView findProfile(String userId) {
+        return readYourWrites.readAs(userId, () -> userRepository.findProfileByUserId(userId))
+                .orElseThrow(() -> new UsernameNotFoundException("해당하는 userId의 정보를 찾을 수 없습니다.: " + userId));
     }
 
     /**
@@ -198,24 +353,42 @@ public class UserService {
      * why? 클라이언트는 쿠키 삭제만 잘 하면 되니까요(서버는 조용히 no-op).
      * */
     @Transactional
-    public void logoutUser(String accessToken, String deviceId) {
-        String userId;
+    public void logoutUser(String accessToken, String deviceId, String clientIp) {
+        Claims claims;
         try {
-            userId = jwtTokenProvider.getSubjectEvenIfExpired(accessToken);
+            claims = jwtTokenProvider.getClaimsEvenIfExpired(accessToken);
         } catch (JwtException | IllegalArgumentException e) {
             throw new IllegalArgumentException("유효하지 않은 AccessToken 입니다.");
         }
+        String userId = claims.getSubject();
 
-        User user = userRepository.findByUserId(userId)
+        // 남은 수명 동안 이 AccessToken 거부 (만료됐거나 jti 없는 이전 토큰이면 no-op)
+        if (claims.getExpiration() != null) {
+            accessTokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+        }
+
+        // 스냅샷의 PK 로 프록시만 만들어 UPDATE 조건에 사용 (SELECT 없음)
+        UserSnapshot snapshot = userSnapshotCache.get(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        User user = userRepository.getReferenceById(snapshot.id());
 
         if (deviceId != null && !deviceId.isBlank()) {
             // 디바이스 1대만 끊기 (idempotent 권장)
-            refreshTokenRepository.revokeByUserAndDeviceId(user, deviceId);
+            refreshTokenRepository.revokeByUserAndDeviceId(user, deviceId, LocalDateTime.now());
         } else {
             // 모든 디바이스 끊기
-            refreshTokenRepository.revokeAllByUser(user);
+            refreshTokenRepository.revokeAllByUser(user, LocalDateTime.now());
         }
+        // 이미 끊긴 토큰으로 grace window 재응답이 나가지 않도록
+        refreshGraceCache.evict(userId, deviceId);
+        readYourWrites.markWritten(userId);
+        audit(LoginEventType.LOGOUT, snapshot.id(), userId, deviceId, clientIp, null);
     }
 
+    /**
+     * 감사 로그는 버퍼에 넣기만 함 (INSERT 는 LoginAuditService 전용 스레드)
+     */
+    private void audit(LoginEventType type, Long userPk, String userId, String deviceId, String clientIp, String userAgent) {
+        loginAuditService.record(LoginAuditEvent.of(type, userPk, userId, deviceId, clientIp, userAgent));
+    }
 }
@@ -0,0 +1,163 @@
+package com.common.api.login.service;
+
+import com.common.api.login.dto.UserSnapshot;
+import com.common.api.login.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * userId → UserSnapshot 캐시 (TTL + 최대 항목 수)
+ * - 같은 userId 를 동시에 놓친 요청은 한 번의 DB 조회를 함께 기다림 (stampede 방지)
+ * - 없는 사용자도 Optional.empty() 로 TTL 동안 캐시 (가입 시 @PostPersist 로 무효화)
+ * - 사용자/역할 변경은 UserSnapshotInvalidator 가 커밋 전후로 invalidate
+ * - maxSize 에 도달하면 만료 항목을 먼저 비우고, 그래도 가득 차 있으면 캐시하지 않고 바로 조회
+ * - 호출 측은 트랜잭션을 열지 않음 (적중 시 커넥션 없음)
+ *   미스일 때만 findByUserId 에 선언한 읽기 전용 트랜잭션(복제본)으로 조회,
+ *   방금 쓰기가 있었던 userId 는 ReadYourWrites 로 primary 에서 조회
+ * */
+@Component
+public class UserSnapshotCache {
+
+    private final UserRepository userRepository;
+    private final ReadYourWrites readYourWrites;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+
+    public UserSnapshotCache(
+            UserRepository userRepository,
+            ReadYourWrites readYourWrites,
+            @Value("${security.user-cache.max-size:10000}") int maxSize,
+            @Value("${security.user-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.readYourWrites = readYourWrites;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize / 4));
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlNanos > 0;
+    }
+
+    public Optional<UserSnapshot> get(String userId) {
+        if (!isEnabled()) {
+            misses.increment();
+            return load(userId);
+        }
+        long now = System.nanoTime();
+
+        CompletableFuture<Entry> cached = entries.get(userId);
+        if (cached != null) {
+            Entry entry = cached.getNow(null);
+            if (entry == null) {
+                hits.increment(); // 다른 요청이 조회 중 → 그 결과를 공유
+                return join(cached).snapshot();
+            }
+            if (entry.expiresAtNanos() - now > 0) {
+                hits.increment();
+                return entry.snapshot();
+            }
+            entries.remove(userId, cached);
+        }
+
+        misses.increment();
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+            if (entries.size() >= maxSize) {
+                return load(userId);
+            }
+        }
+
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = entries.putIfAbsent(userId, mine);
+        if (existing != null) {
+            return join(existing).snapshot();
+        }
+        try {
+            Optional<UserSnapshot> snapshot = load(userId);
+            mine.complete(new Entry(snapshot, System.nanoTime() + ttlNanos));
+            return snapshot;
+        } catch (RuntimeException e) {
+            entries.remove(userId, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            entries.remove(userId);
+        }
+    }
+
+    public void evictExpired(long nowNanos) {
+        entries.values().removeIf(f -> {
+            Entry entry = f.getNow(null);
+            return entry != null && entry.expiresAtNanos() - nowNanos <= 0;
+        });
+    }
+
+    private Optional<UserSnapshot> load(String userId) {
+        long start = System.nanoTime();
+        try {
+            return readYourWrites.readAs(userId, () -> userRepository.findByUserId(userId).map(UserSnapshot::from));
+        } finally {
+            loadNanos.add(System.nanoTime() - start);
+            loads.increment();
+        }
+    }
+
+    private static Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getLoadNanosTotal() {
+        return loadNanos.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(Optional<UserSnapshot> snapshot, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.common.api.login.service;
+
+import com.common.api.login.entity.user.User;
+import com.common.api.login.entity.user.UserRole;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/*
+ * User / UserRole 엔티티 리스너 (Hibernate 가 Spring 빈으로 생성)
+ * deactivate, changePassword, addRole, removeRole 등이 flush 되면 해당 userId 의 스냅샷을 지운다.
+ * flush 시점(커밋 전)에 한 번, 커밋 이후에 한 번 더 지워서
+ * 그 사이에 다른 요청이 옛 값을 다시 캐시하는 경우도 막는다.
+ * 같은 userId 의 이후 읽기는 잠시 primary 로 고정 (복제본에 아직 반영 안 된 값을 다시 캐시하지 않도록)
+ * EntityManagerFactory → 리스너 → 캐시 → UserRepository 순환을 피하려고 ObjectProvider 로 지연 조회
+ * */
+@Component
+public class UserSnapshotInvalidator {
+
+    private final ObjectProvider<UserSnapshotCache> cacheProvider;
+    private final ObjectProvider<ReadYourWrites> readYourWritesProvider;
+
+    public UserSnapshotInvalidator(
+            ObjectProvider<UserSnapshotCache> cacheProvider,
+            ObjectProvider<ReadYourWrites> readYourWritesProvider
+    ) {
+        this.cacheProvider = cacheProvider;
+        this.readYourWritesProvider = readYourWritesProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            invalidate(user.getUserId());
+        } else if (entity instanceof UserRole userRole) {
+            invalidate(userRole.getUser().getUserId());
+        }
+    }
+
+    public void invalidate(String userId) {
+        ReadYourWrites readYourWrites = readYourWritesProvider.getIfAvailable();
+        if (readYourWrites != null) {
+            readYourWrites.markWritten(userId);
+        }
+        UserSnapshotCache cache = cacheProvider.getIfAvailable();
+        if (cache == null || userId == null) {
+            return;
+        }
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
@@ -6,19 +6,32 @@ import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
 
 public final class HashUtils {
+
+    public static final int SHA256_LENGTH = 32;
+
+    // MessageDigest 는 스레드 세이프하지 않으므로 스레드별로 재사용 (digest() 호출 시 자동 reset)
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    });
+
     private HashUtils() {
     }
 
+    /**
+     * 32바이트 SHA-256 다이제스트 반환 (user_refresh_tokens.refresh_token_hash BINARY(32) 저장용)
+     */
+    public static byte[] sha256(String input) {
+        return SHA256.get().digest(input.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * 64자 소문자 hex 반환
      */
     public static String sha256Hex(String input) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] digest = md.digest(input.getBytes(StandardCharsets.UTF_8));
-            return HexFormat.of().formatHex(digest); // Java 17+
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-256 not supported", e);
-        }
+        return HexFormat.of().formatHex(sha256(input)); // Java 17+
     }
-}
\ No newline at end of file
+}
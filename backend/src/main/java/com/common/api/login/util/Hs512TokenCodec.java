@@ -0,0 +1,448 @@
+package com.common.api.login.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 고정 헤더({"alg":"HS512"}) + 평평한 JSON 페이로드 토큰 전용 HS512 코덱
+ * jjwt 와 wire-compatible: 이 코덱이 만든 토큰은 jjwt 로, jjwt 가 만든 같은 모양의 토큰은 이 코덱으로 검증된다.
+ * 헤더가 다르거나 중첩 객체, 실수, 이스케이프 문자열, nbf 등 지원하지 않는 모양이면 decode 가 null 을 반환하고
+ * 호출 측(JwtTokenProvider)이 jjwt 파서로 처리한다.
+ * */
+public final class Hs512TokenCodec {
+
+    static final String HEADER_JSON = "{\"alg\":\"HS512\"}";
+
+    // HMAC-SHA512 = 64 bytes → base64url(패딩 없음) 86자
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int SIGNATURE_SEGMENT_LENGTH = 86;
+
+    private static final Base64.Encoder URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder URL_DECODER = Base64.getUrlDecoder();
+
+    private final byte[] headerSegment;
+    private final ThreadLocal<Mac> macs;
+
+    public Hs512TokenCodec(SecretKey secretKey) {
+        this.headerSegment = URL_ENCODER.encode(HEADER_JSON.getBytes(StandardCharsets.US_ASCII));
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance("HmacSHA512");
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA512 초기화 실패", e);
+            }
+        });
+    }
+
+    public PayloadWriter payload() {
+        return new PayloadWriter();
+    }
+
+    /**
+     * header.payload 를 서명해 compact JWS 문자열 반환
+     */
+    public String sign(byte[] payloadJson) {
+        byte[] payloadSegment = URL_ENCODER.encode(payloadJson);
+        int signingLength = headerSegment.length + 1 + payloadSegment.length;
+        byte[] out = new byte[signingLength + 1 + SIGNATURE_SEGMENT_LENGTH];
+
+        System.arraycopy(headerSegment, 0, out, 0, headerSegment.length);
+        out[headerSegment.length] = '.';
+        System.arraycopy(payloadSegment, 0, out, headerSegment.length + 1, payloadSegment.length);
+
+        Mac mac = macs.get();
+        mac.update(out, 0, signingLength);
+        byte[] signature = URL_ENCODER.encode(mac.doFinal());
+
+        out[signingLength] = '.';
+        System.arraycopy(signature, 0, out, signingLength + 1, SIGNATURE_SEGMENT_LENGTH);
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 토큰 검증 후 페이로드 클레임 반환
+     * 포맷 오류와 만료는 HMAC 계산 전에 페이로드 스캔만으로 거절한다.
+     *
+     * @param allowExpired true 면 만료 검사를 생략 (서명은 항상 검증)
+     * @return 클레임 맵, 이 코덱이 지원하지 않는 모양이면 null
+     * @throws MalformedJwtException 마침표 개수/Base64/JSON 오류
+     * @throws ExpiredJwtException   exp 경과 (서명 검증 전이므로 claims 는 담지 않음)
+     * @throws SignatureException    서명 불일치
+     */
+    public Map<String, Object> decode(String token, long nowMillis, boolean allowExpired) {
+        int length = token.length();
+        int dot1 = -1;
+        int dot2 = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (dot1 < 0) {
+                    dot1 = i;
+                } else if (dot2 < 0) {
+                    dot2 = i;
+                } else {
+                    throw new MalformedJwtException("JWT 포맷이 아님(마침표 3개 이상)");
+                }
+            } else if (c > 0x7F) {
+                throw new MalformedJwtException("JWT 에 ASCII 가 아닌 문자가 포함됨");
+            }
+        }
+        if (dot2 < 0) {
+            throw new MalformedJwtException("JWT 포맷이 아님(마침표 2개 미만)");
+        }
+        if (!headerMatches(token, dot1)) {
+            return null;
+        }
+        if (length - dot2 - 1 != SIGNATURE_SEGMENT_LENGTH) {
+            throw new MalformedJwtException("HS512 서명 길이가 올바르지 않음");
+        }
+
+        byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+        byte[] payloadJson;
+        byte[] signature;
+        try {
+            payloadJson = URL_DECODER.decode(Arrays.copyOfRange(tokenBytes, dot1 + 1, dot2));
+            signature = URL_DECODER.decode(Arrays.copyOfRange(tokenBytes, dot2 + 1, length));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedJwtException("JWT Base64Url 디코딩 실패", e);
+        }
+        if (signature.length != SIGNATURE_LENGTH) {
+            throw new MalformedJwtException("HS512 서명 길이가 올바르지 않음");
+        }
+
+        Map<String, Object> claims = new PayloadParser(payloadJson).parse();
+        if (claims == null || claims.containsKey("nbf") || !(claims.get("exp") instanceof Long exp)) {
+            return null;
+        }
+        if (!allowExpired && nowMillis > exp * 1000L) {
+            throw new ExpiredJwtException(null, null, "JWT 가 만료됨: exp=" + exp);
+        }
+
+        Mac mac = macs.get();
+        mac.update(tokenBytes, 0, dot2);
+        if (!MessageDigest.isEqual(mac.doFinal(), signature)) {
+            throw new SignatureException("JWT 서명이 일치하지 않음");
+        }
+        return claims;
+    }
+
+    private boolean headerMatches(String token, int dot1) {
+        if (dot1 != headerSegment.length) {
+            return false;
+        }
+        for (int i = 0; i < dot1; i++) {
+            if (token.charAt(i) != headerSegment[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * 평평한 JSON 객체를 byte[] 로 바로 기록 (Jackson/Map 경유 없음)
+     * */
+    public static final class PayloadWriter {
+        private byte[] buf = new byte[160];
+        private int pos = 1;
+
+        private PayloadWriter() {
+            buf[0] = '{';
+        }
+
+        public PayloadWriter string(String name, String value) {
+            name(name);
+            quoted(value);
+            return this;
+        }
+
+        public PayloadWriter number(String name, long value) {
+            name(name);
+            ascii(Long.toString(value));
+            return this;
+        }
+
+        public PayloadWriter stringArray(String name, Collection<String> values) {
+            name(name);
+            put((byte) '[');
+            boolean first = true;
+            for (String value : values) {
+                if (!first) {
+                    put((byte) ',');
+                }
+                quoted(value);
+                first = false;
+            }
+            put((byte) ']');
+            return this;
+        }
+
+        public byte[] toBytes() {
+            put((byte) '}');
+            return Arrays.copyOf(buf, pos);
+        }
+
+        private void name(String name) {
+            if (pos > 1) {
+                put((byte) ',');
+            }
+            quoted(name);
+            put((byte) ':');
+        }
+
+        private void quoted(String value) {
+            put((byte) '"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    put((byte) '\\');
+                    put((byte) c);
+                } else if (c < 0x20) {
+                    ascii(String.format("\\u%04x", (int) c));
+                } else if (c < 0x80) {
+                    put((byte) c);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    utf8(Character.toCodePoint(c, value.charAt(++i)));
+                } else if (Character.isSurrogate(c)) {
+                    put((byte) '?'); // String.getBytes(UTF_8) 와 동일하게 짝 없는 surrogate 는 '?'
+                } else {
+                    utf8(c);
+                }
+            }
+            put((byte) '"');
+        }
+
+        private void utf8(int cp) {
+            if (cp < 0x800) {
+                put((byte) (0xC0 | (cp >> 6)));
+            } else if (cp < 0x10000) {
+                put((byte) (0xE0 | (cp >> 12)));
+                put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            } else {
+                put((byte) (0xF0 | (cp >> 18)));
+                put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+                put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            }
+            put((byte) (0x80 | (cp & 0x3F)));
+        }
+
+        private void ascii(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                put((byte) s.charAt(i));
+            }
+        }
+
+        private void put(byte b) {
+            if (pos == buf.length) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            buf[pos++] = b;
+        }
+    }
+
+    /*
+     * 값이 문자열/정수/불리언/문자열 배열뿐인 평평한 객체만 파싱
+     * 지원하지 않는 토큰을 만나면 null (→ jjwt 로 위임), 문법 오류면 MalformedJwtException
+     * */
+    private static final class PayloadParser {
+        private final byte[] json;
+        private int pos;
+
+        PayloadParser(byte[] json) {
+            this.json = json;
+        }
+
+        Map<String, Object> parse() {
+            try {
+                return readObject();
+            } catch (Unsupported e) {
+                return null;
+            }
+        }
+
+        private Map<String, Object> readObject() {
+            Map<String, Object> claims = new LinkedHashMap<>();
+            skipWs();
+            expect('{');
+            skipWs();
+            if (peek() == '}') {
+                pos++;
+            } else {
+                while (true) {
+                    skipWs();
+                    String name = readString();
+                    skipWs();
+                    expect(':');
+                    skipWs();
+                    claims.put(name, readValue());
+                    skipWs();
+                    byte c = next();
+                    if (c == '}') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw malformed();
+                    }
+                }
+            }
+            skipWs();
+            if (pos != json.length) {
+                throw malformed();
+            }
+            return claims;
+        }
+
+        private Object readValue() {
+            byte c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return readLong();
+            }
+            if (c == '[') {
+                return readStringArray();
+            }
+            if (matchLiteral("true")) {
+                return Boolean.TRUE;
+            }
+            if (matchLiteral("false")) {
+                return Boolean.FALSE;
+            }
+            // null, 중첩 객체 등
+            throw Unsupported.INSTANCE;
+        }
+
+        private List<String> readStringArray() {
+            expect('[');
+            List<String> values = new ArrayList<>(4);
+            skipWs();
+            if (peek() == ']') {
+                pos++;
+                return values;
+            }
+            while (true) {
+                skipWs();
+                if (peek() != '"') {
+                    throw Unsupported.INSTANCE;
+                }
+                values.add(readString());
+                skipWs();
+                byte c = next();
+                if (c == ']') {
+                    return values;
+                }
+                if (c != ',') {
+                    throw malformed();
+                }
+            }
+        }
+
+        private String readString() {
+            expect('"');
+            int start = pos;
+            while (true) {
+                byte c = next();
+                if (c == '"') {
+                    return new String(json, start, pos - start - 1, StandardCharsets.UTF_8);
+                }
+                if (c == '\\') {
+                    throw Unsupported.INSTANCE;
+                }
+            }
+        }
+
+        private Long readLong() {
+            boolean negative = peek() == '-';
+            if (negative) {
+                pos++;
+            }
+            long value = 0;
+            int digits = 0;
+            while (pos < json.length && json[pos] >= '0' && json[pos] <= '9') {
+                value = value * 10 + (json[pos++] - '0');
+                if (++digits > 18) {
+                    throw Unsupported.INSTANCE;
+                }
+            }
+            if (digits == 0) {
+                throw malformed();
+            }
+            if (pos < json.length && (json[pos] == '.' || json[pos] == 'e' || json[pos] == 'E')) {
+                throw Unsupported.INSTANCE;
+            }
+            return negative ? -value : value;
+        }
+
+        private boolean matchLiteral(String literal) {
+            if (pos + literal.length() > json.length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (json[pos + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            pos += literal.length();
+            return true;
+        }
+
+        private void skipWs() {
+            while (pos < json.length) {
+                byte c = json[pos];
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private void expect(char c) {
+            if (next() != c) {
+                throw malformed();
+            }
+        }
+
+        private byte peek() {
+            if (pos >= json.length) {
+                throw malformed();
+            }
+            return json[pos];
+        }
+
+        private byte next() {
+            byte c = peek();
+            pos++;
+            return c;
+        }
+
+        private MalformedJwtException malformed() {
+            return new MalformedJwtException("JWT 페이로드 JSON 형식 오류 (offset " + pos + ")");
+        }
+    }
+
+    // 지원하지 않는 모양 신호용 (스택 트레이스 없음)
+    private static final class Unsupported extends RuntimeException {
+        static final Unsupported INSTANCE = new Unsupported();
+
+        private Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+}
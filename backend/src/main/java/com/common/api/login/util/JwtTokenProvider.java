@@ -1,23 +1,33 @@
 package com.common.api.login.util;
 
-import com.common.api.login.entity.user.UserRole;
+import com.common.api.login.enums.RoleType;
+import com.common.api.login.metrics.AuthMetrics;
+import com.common.api.login.security.RoleAuthorities;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
     private final long accessTokenValidityInMs;
 
     @Getter
@@ -25,11 +35,30 @@ public class JwtTokenProvider {
 
     private final SecretKey secretKey;
 
+    // 파서는 스레드 세이프하므로 생성 시 한 번만 빌드 (코덱이 처리하지 못하는 토큰용)
+    private final JwtParser parser;
+
+    // {"alg":"HS512"} 헤더 토큰 전용 경량 코덱
+    private final Hs512TokenCodec codec;
+
+    @Getter
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final AuthMetrics authMetrics;
+
+    public JwtTokenProvider(long accessTokenValidityInMs, long refreshTokenValidityInMs, String secret, int verifyCacheMaxSize) {
+        this(accessTokenValidityInMs, refreshTokenValidityInMs, secret, verifyCacheMaxSize, AuthMetrics.NOOP);
+    }
+
+    @Autowired
     public JwtTokenProvider(
             @Value("${jwt.access-token-validity-ms}") long accessTokenValidityInMs,
             @Value("${jwt.refresh-token-validity-ms}") long refreshTokenValidityInMs,
-            @Value("${jwt.secret}") String secret
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.verify-cache.max-size:10000}") int verifyCacheMaxSize,
+            AuthMetrics authMetrics
     ) {
+        this.authMetrics = authMetrics;
         this.accessTokenValidityInMs = accessTokenValidityInMs;
         this.refreshTokenValidityInMs = refreshTokenValidityInMs;
 //        this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
@@ -43,23 +72,40 @@ public class JwtTokenProvider {
                             "application.yml의 jwt.secret 값을 확인하세요.", e
             );
         }
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.codec = new Hs512TokenCodec(secretKey);
+        this.verifiedTokenCache = new VerifiedTokenCache(verifyCacheMaxSize, accessTokenValidityInMs);
     }
 
     /**
      * AccessToken 생성 (subject: userId, claims: roles)
      */
     public String createAccessToken(String userId, Set<String> roles) {
-        Date now = new Date();
-        Date expiry = new Date(now.getTime() + accessTokenValidityInMs);
+        return createAccessToken(userId, 0L, 0L, RoleType.maskOf(roles));
+    }
 
-        return Jwts.builder()
-//                .claim(Claims.SUBJECT, userId)
-                .subject(userId)
-                .claim("roles", roles)
-                .issuedAt(now)
-                .expiration(expiry)
-                .signWith(secretKey, Jwts.SIG.HS512)
-                .compact();
+    /**
+     * roles 클레임은 RoleType 비트마스크 정수 (예: ROLE_USER|ROLE_ADMIN → 3)
+     * userPk > 0 이면 uid(사용자 PK), ep(token_epoch) 클레임 포함 → UserTokenEpochs 로 일괄 무효화 가능
+     */
+    public String createAccessToken(String userId, long userPk, long tokenEpoch, int roleMask) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+
+        // jjwt 빌더와 같은 클레임/순서로 직접 직렬화 + 서명
+        Hs512TokenCodec.PayloadWriter payload = codec.payload()
+                .string(Claims.ID, newJti())
+                .string(Claims.SUBJECT, userId);
+        if (userPk > 0) {
+            payload.number("uid", userPk)
+                    .number("ep", tokenEpoch);
+        }
+        payload.number("roles", roleMask)
+                .number(Claims.ISSUED_AT, now / 1000)
+                .number(Claims.EXPIRATION, (now + accessTokenValidityInMs) / 1000);
+        String token = codec.sign(payload.toBytes());
+        authMetrics.jwtSigned(System.nanoTime() - start);
+        return token;
     }
 
 
@@ -67,15 +113,18 @@ public class JwtTokenProvider {
      * RefreshToken 생성 (subject: userId)
      */
     public String createRefreshToken(String userId) {
+        long start = System.nanoTime();
         Date now = new Date();
         Date expiry = new Date(now.getTime() + refreshTokenValidityInMs);
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .subject(userId)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(secretKey, Jwts.SIG.HS512)
                 .compact();
+        authMetrics.jwtSigned(System.nanoTime() - start);
+        return token;
     }
 
     /**
@@ -83,8 +132,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String token) {
         try {
-            if (!isCompactJwt(token)) return false;
-            Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+            verify(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             // 로그 기록 등 예외 처리
@@ -96,54 +144,153 @@ public class JwtTokenProvider {
      * 만료된 액세스 토큰이라도 subject(userId)만 꺼낼 수 있으면 진행
      * */
     public String getSubjectEvenIfExpired(String token) {
-        try {
-            // 유효할 때
-            return getUserId(token); // 내부적으로 서명 검증 + 만료검사
-        } catch (ExpiredJwtException e) {
-            // 만료여도 서명 검증 후 던져지므로 subject는 신뢰 가능
-            return e.getClaims().getSubject();
-        }
+        // 만료 검사만 생략하고 서명은 검증하므로 subject는 신뢰 가능
+        return parse(token, true).getSubject();
+    }
+
+    /**
+     * 서명만 검증한 Claims (만료 허용) - 로그아웃 시 jti/exp 확인용
+     */
+    public Claims getClaimsEvenIfExpired(String token) {
+        return parse(token, true);
     }
 
     /**
      * 토큰에서 userId(subject) 추출
      */
     public String getUserId(String token) {
-        return parseClaims(token).getSubject();
+        return verify(token).getSubject();
+    }
+
+    /**
+     * 검증된 Claims 에서 roles 클레임 추출 (없으면 빈 Set)
+     */
+    public Set<String> getRoles(Claims claims) {
+        return RoleAuthorities.namesOf(getRoleMask(claims));
+    }
+
+    /**
+     * uid 클레임 (epoch 도입 전 토큰이면 -1)
+     */
+    public long getUserPk(Claims claims) {
+        return claims.get("uid") instanceof Number uid ? uid.longValue() : -1L;
+    }
+
+    public long getTokenEpoch(Claims claims) {
+        return claims.get("ep") instanceof Number ep ? ep.longValue() : 0L;
+    }
+
+    /**
+     * roles 클레임 → 비트마스크 (배포 전에 발급된 문자열 배열 토큰도 허용, 없으면 0)
+     */
+    public int getRoleMask(Claims claims) {
+        Object roles = claims.get("roles");
+        if (roles instanceof Number mask) {
+            return mask.intValue();
+        }
+        if (roles instanceof Collection<?> values) {
+            Set<String> names = new HashSet<>(values.size());
+            for (Object value : values) {
+                names.add(String.valueOf(value));
+            }
+            return RoleType.maskOf(names);
+        }
+        return 0;
     }
 
     /**
      * 토큰 만료 시간 확인
      */
     public Date getExpiration(String token) {
-        return parseClaims(token).getExpiration();
+        return verify(token).getExpiration();
     }
 
 
     /**
-     * 토큰 유효성 검증 및 클레임 추출
+     * 토큰 유효성 검증 및 클레임 추출 (서명 검증은 토큰당 한 번, 이후 exp 까지 캐시 사용)
      *
      * @param token 검증할 JWT 토큰
      * @return 유효한 경우 Claims 객체 반환
+     * @throws JwtException 서명 불일치/만료 등
+     * @throws IllegalArgumentException 빈 값이거나 compact 포맷이 아닌 경우
+     */
+    public Claims verify(String token) {
+        long start = System.nanoTime();
+        try {
+            if (!isCompactJwt(token)) {
+                throw new IllegalArgumentException("JWT 포맷이 아님(빈 값이거나 마침표 2개 미만)");
+            }
+            if (!verifiedTokenCache.isEnabled()) {
+                Claims claims = parse(token, false);
+                authMetrics.jwtVerified(System.nanoTime() - start, false);
+                return claims;
+            }
+
+            long now = System.currentTimeMillis();
+            VerifiedTokenCache.Key key = verifiedTokenCache.keyOf(token);
+            Claims cached = verifiedTokenCache.get(key, now);
+            if (cached != null) {
+                authMetrics.jwtVerified(System.nanoTime() - start, true);
+                return cached;
+            }
+
+            Claims claims = parse(token, false);
+            verifiedTokenCache.put(key, claims, now);
+            authMetrics.jwtVerified(System.nanoTime() - start, false);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            authMetrics.jwtRejected(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * 코덱으로 먼저 검증하고, 코덱이 지원하지 않는 모양이면 jjwt 파서로 위임
      */
-    private Claims parseClaims(String token) {
+    private Claims parse(String token, boolean allowExpired) {
         if (!isCompactJwt(token)) {
             throw new IllegalArgumentException("JWT 포맷이 아님(빈 값이거나 마침표 2개 미만)");
         }
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Map<String, Object> payload = codec.decode(token, System.currentTimeMillis(), allowExpired);
+        if (payload != null) {
+            return Jwts.claims().add(payload).build();
+        }
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            if (allowExpired) {
+                // 서명 검증 후 던져지므로 claims 는 신뢰 가능
+                return e.getClaims();
+            }
+            throw e;
+        }
     }
 
     private boolean isCompactJwt(String token) {
-        if (token == null) return false;
-        token = token.trim();
-        if (token.isEmpty()) return false;
+        if (token == null || token.isBlank()) return false;
         // compact JWS 포맷: 마침표 2개
-        long dots = token.chars().filter(c -> c == '.').count();
+        int dots = 0;
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) == '.' && ++dots > 2) {
+                return false;
+            }
+        }
         return dots == 2;
     }
 
+    // 128bit 난수 → 소문자 hex 32자 (AccessTokenDenylist 가 두 long 으로 바로 파싱)
+    private static String newJti() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] out = new char[32];
+        writeHex(out, 0, random.nextLong());
+        writeHex(out, 16, random.nextLong());
+        return new String(out);
+    }
+
+    private static void writeHex(char[] out, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.common.api.login.util;
+
+/*
+ * long → long open addressing 해시맵 (박싱 없음, 스레드 세이프하지 않음)
+ * 키/값을 한 배열에 번갈아 저장 [k0, v0, k1, v1, ...] → 배열 참조 하나만 읽으면 되므로
+ * StampedLock 낙관적 읽기 중 resize 와 겹쳐도 인덱스가 어긋나지 않는다.
+ * 키 0 은 빈 슬롯 표시로 예약
+ * */
+public final class LongLongHashMap {
+
+    private long[] table;
+    private int size;
+
+    public LongLongHashMap(int expectedSize) {
+        int slots = Integer.highestOneBit(Math.max(16, expectedSize * 2) * 2 - 1);
+        this.table = new long[slots * 2];
+    }
+
+    /**
+     * @return 값, 없으면 missing
+     */
+    public long get(long key, long missing) {
+        long[] t = table;
+        int slots = t.length >>> 1;
+        int mask = slots - 1;
+        int slot = mix(key) & mask;
+        // 낙관적 읽기 중 깨진 상태를 봐도 무한 루프에 빠지지 않도록 슬롯 수만큼만 탐색
+        for (int probes = 0; probes < slots; probes++) {
+            long k = t[slot << 1];
+            if (k == key) {
+                return t[(slot << 1) + 1];
+            }
+            if (k == 0) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    public void put(long key, long value) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key 0 은 사용할 수 없습니다.");
+        }
+        if ((size + 1) * 2 > table.length >>> 1) {
+            resize(table.length);
+        }
+        if (insert(table, key, value)) {
+            size++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // 새 키면 true
+    private static boolean insert(long[] t, long key, long value) {
+        int mask = (t.length >>> 1) - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            long k = t[slot << 1];
+            if (k == key || k == 0) {
+                t[slot << 1] = key;
+                t[(slot << 1) + 1] = value;
+                return k == 0;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void resize(int newSlots) {
+        long[] old = table;
+        long[] grown = new long[newSlots * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != 0) {
+                insert(grown, old[i], old[i + 1]);
+            }
+        }
+        table = grown;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
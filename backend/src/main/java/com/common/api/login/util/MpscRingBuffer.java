@@ -0,0 +1,97 @@
+package com.common.api.login.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/*
+ * 고정 크기 lock-free 링 버퍼 (다중 생산자 / 단일 소비자)
+ * - 슬롯마다 시퀀스를 두는 방식: 생산자는 tail CAS 로 슬롯을 잡고 값 기록 후 시퀀스를 공개
+ * - 가득 차면 offer 가 false (대기/버림은 호출 측 정책)
+ * - poll/drain 은 한 스레드에서만 호출
+ * */
+public final class MpscRingBuffer<E> {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // 소비자만 갱신, size() 용으로 volatile
+    private volatile long head;
+
+    public MpscRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity 는 2 이상이어야 합니다: " + requestedCapacity);
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    public boolean offer(E element) {
+        if (element == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            long t = tail.get();
+            int index = (int) (t & mask);
+            long diff = sequences.get(index) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    slots.lazySet(index, element);
+                    sequences.set(index, t + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false; // 소비자가 아직 비우지 않은 슬롯 = 가득 참
+            } else {
+                Thread.onSpinWait(); // 다른 생산자가 먼저 가져감
+            }
+        }
+    }
+
+    public E poll() {
+        long h = head;
+        int index = (int) (h & mask);
+        if (sequences.get(index) - (h + 1) < 0) {
+            return null; // 비었거나 아직 기록 중
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, h + capacity);
+        head = h + 1;
+        return element;
+    }
+
+    /**
+     * 최대 limit 개를 꺼내 consumer 로 전달
+     */
+    public int drain(Consumer<? super E> consumer, int limit) {
+        int count = 0;
+        while (count < limit) {
+            E element = poll();
+            if (element == null) {
+                break;
+            }
+            consumer.accept(element);
+            count++;
+        }
+        return count;
+    }
+
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
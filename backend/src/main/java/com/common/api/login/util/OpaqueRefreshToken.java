@@ -0,0 +1,64 @@
+package com.common.api.login.util;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/*
+ * 불투명 refresh token: "<user_refresh_tokens.id>.<256bit 난수 base64url>" (약 63자, JWT 대비 1/4 이하)
+ * - 서명/파싱 없이 PK 로 행을 바로 찾고, 저장된 SHA-256 과 상수 시간 비교
+ * - 난수 부분이 비밀이므로 행 id 가 노출되어도 무방
+ * */
+public final class OpaqueRefreshToken {
+
+    private static final int SECRET_BYTES = 32;
+    private static final int SECRET_LENGTH = 43; // 32바이트 base64url (패딩 없음)
+    private static final int MAX_ID_DIGITS = 19;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private OpaqueRefreshToken() {
+    }
+
+    public static String create(long rowId) {
+        if (rowId <= 0) {
+            throw new IllegalArgumentException("rowId must be positive: " + rowId);
+        }
+        byte[] secret = new byte[SECRET_BYTES];
+        RANDOM.nextBytes(secret);
+        return rowId + "." + ENCODER.encodeToString(secret);
+    }
+
+    /**
+     * @return 불투명 형식이면 행 id, 아니면(JWT 등) -1
+     */
+    public static long parseRowId(String token) {
+        if (token == null) {
+            return -1L;
+        }
+        int dot = token.indexOf('.');
+        if (dot < 1 || dot > MAX_ID_DIGITS || token.length() - dot - 1 != SECRET_LENGTH) {
+            return -1L;
+        }
+        long id = 0L;
+        for (int i = 0; i < dot; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1L;
+            }
+            id = id * 10 + (c - '0');
+            if (id < 0) {
+                return -1L; // long 범위 초과
+            }
+        }
+        for (int i = dot + 1; i < token.length(); i++) {
+            char c = token.charAt(i);
+            boolean base64Url = (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z')
+                    || (c >= '0' && c <= '9') || c == '-' || c == '_';
+            if (!base64Url) {
+                return -1L;
+            }
+        }
+        return id > 0 ? id : -1L;
+    }
+}
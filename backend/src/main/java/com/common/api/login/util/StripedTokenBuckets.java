@@ -0,0 +1,170 @@
+package com.common.api.login.util;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * 키(문자열)별 토큰 버킷을 lock-striping + 원시 배열(open addressing)로 보관
+ * - 키는 64bit 해시로만 저장 (문자열/박싱 객체를 붙잡지 않음, 해시 충돌 시 버킷 공유)
+ * - 가득 찰 만큼 오래 쉰 버킷은 새 버킷과 상태가 같으므로 제거 대상 (시간 기반 eviction)
+ * - 스트라이프당 최대 항목 수를 넘으면 가장 오래 쉰 항목부터 밀어냄 → 메모리 상한 고정
+ * */
+public final class StripedTokenBuckets {
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long fullRefillNanos;
+    private final int maxEntriesPerStripe;
+
+    /**
+     * @param capacity        버킷 최대 토큰 수 (= 허용 버스트)
+     * @param refillPerMinute 분당 보충 토큰 수
+     * @param maxEntries      전체 최대 키 수 (근사치, 스트라이프 단위로 나눠 적용)
+     */
+    public StripedTokenBuckets(int capacity, int refillPerMinute, int maxEntries) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        this.fullRefillNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.maxEntriesPerStripe = Math.max(16, maxEntries / stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * 토큰 1개 소비 시도
+     *
+     * @return 소비했으면 true, 버킷이 비었으면 false
+     */
+    public boolean tryAcquire(String key, long nowNanos) {
+        long hash = hash64(key);
+        Stripe stripe = stripes[(int) (hash >>> 32) & stripeMask];
+        stripe.lock();
+        try {
+            return stripe.tryAcquire(hash, nowNanos);
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.size;
+        }
+        return total;
+    }
+
+    // FNV-1a 64 + 최종 믹싱, 할당 없음 (0 은 빈 슬롯 표시로 예약)
+    private static long hash64(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h == 0 ? 1 : h;
+    }
+
+    private final class Stripe extends ReentrantLock {
+        private long[] keys = new long[32];
+        private double[] tokens = new double[32];
+        private long[] lastNanos = new long[32];
+        private int size;
+
+        boolean tryAcquire(long hash, long now) {
+            int slot = find(hash);
+            if (slot < 0) {
+                if (size >= maxEntriesPerStripe) {
+                    evictIdle(now);
+                    if (size >= maxEntriesPerStripe) {
+                        evictOldest();
+                    }
+                }
+                if ((size + 1) * 2 > keys.length) {
+                    rehash(Math.min(keys.length * 2, Integer.highestOneBit(maxEntriesPerStripe) * 4));
+                }
+                insert(hash, capacity - 1, now);
+                return true;
+            }
+
+            double current = Math.min(capacity, tokens[slot] + (now - lastNanos[slot]) * tokensPerNano);
+            lastNanos[slot] = now;
+            if (current >= 1.0) {
+                tokens[slot] = current - 1.0;
+                return true;
+            }
+            tokens[slot] = current;
+            return false;
+        }
+
+        private int find(long hash) {
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            while (keys[i] != 0) {
+                if (keys[i] == hash) {
+                    return i;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void insert(long hash, double tokenCount, long last) {
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            while (keys[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = hash;
+            tokens[i] = tokenCount;
+            lastNanos[i] = last;
+            size++;
+        }
+
+        // 다시 가득 찰 만큼 오래 쉰 버킷 제거
+        private void evictIdle(long now) {
+            rebuild(keys.length, now - fullRefillNanos);
+        }
+
+        // 그래도 가득하면 가장 오래 쉰 1/4 제거
+        private void evictOldest() {
+            long[] sorted = new long[size];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    sorted[n++] = lastNanos[i];
+                }
+            }
+            Arrays.sort(sorted, 0, n);
+            rebuild(keys.length, sorted[n / 4]);
+        }
+
+        private void rehash(int newLength) {
+            rebuild(newLength, Long.MIN_VALUE);
+        }
+
+        // lastNanos 가 cutoff 이하인 항목을 버리고 새 배열로 재배치 (linear probing 이라 삭제 = 재구성)
+        private void rebuild(int newLength, long cutoff) {
+            long[] oldKeys = keys;
+            double[] oldTokens = tokens;
+            long[] oldLast = lastNanos;
+            keys = new long[newLength];
+            tokens = new double[newLength];
+            lastNanos = new long[newLength];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0 && oldLast[i] > cutoff) {
+                    insert(oldKeys[i], oldTokens[i], oldLast[i]);
+                }
+            }
+        }
+    }
+}
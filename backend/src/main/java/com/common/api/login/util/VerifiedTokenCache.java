@@ -0,0 +1,109 @@
+package com.common.api.login.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 서명 검증이 끝난 토큰의 Claims 를 exp 까지만 보관하는 캐시
+ * 키는 토큰 원문이 아닌 SHA-256 다이제스트 앞 128bit 이므로 토큰 문자열을 붙잡고 있지 않는다.
+ * 남은 수명이 maxTtlMs(access token 유효기간)보다 긴 토큰(예: 7일짜리 refresh JWT)은 저장하지 않는다.
+ * maxSize 에 도달하면 새 항목은 저장하지 않고, 만료 항목 정리(O(n))는 SWEEP_INTERVAL_MS 에 한 번, 한 스레드만 수행한다.
+ * */
+public class VerifiedTokenCache {
+
+    private static final long SWEEP_INTERVAL_MS = 1_000;
+
+    private final int maxSize;
+    private final long maxTtlMs;
+    private final ConcurrentHashMap<Key, Entry> entries;
+    private final AtomicLong nextSweepAtMs = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VerifiedTokenCache(int maxSize, long maxTtlMs) {
+        this.maxSize = maxSize;
+        this.maxTtlMs = maxTtlMs;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, maxSize / 4));
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public Key keyOf(String token) {
+        ByteBuffer buf = ByteBuffer.wrap(HashUtils.sha256(token));
+        return new Key(buf.getLong(), buf.getLong());
+    }
+
+    /**
+     * 만료 전이면 Claims 반환, 없거나 만료됐으면 null
+     */
+    public Claims get(Key key, long nowMs) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMs <= nowMs) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.claims;
+    }
+
+    public void put(Key key, Claims claims, long nowMs) {
+        Date exp = claims.getExpiration();
+        if (exp == null || exp.getTime() <= nowMs) {
+            return; // exp 없는 토큰은 캐시하지 않음
+        }
+        if (exp.getTime() - nowMs > maxTtlMs) {
+            return; // access token 보다 오래 사는 토큰은 캐시하지 않음
+        }
+        if (entries.size() >= maxSize) {
+            sweepIfDue(nowMs);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(key, new Entry(claims, exp.getTime()));
+    }
+
+    /**
+     * 가득 찬 상태의 miss 마다 전체를 훑지 않도록, 주기가 된 경우 CAS 에 성공한 스레드 하나만 정리
+     */
+    private void sweepIfDue(long nowMs) {
+        long due = nextSweepAtMs.get();
+        if (nowMs >= due && nextSweepAtMs.compareAndSet(due, nowMs + SWEEP_INTERVAL_MS)) {
+            evictExpired(nowMs);
+        }
+    }
+
+    public void evictExpired(long nowMs) {
+        entries.values().removeIf(e -> e.expiresAtMs <= nowMs);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public record Key(long hi, long lo) {
+    }
+
+    private record Entry(Claims claims, long expiresAtMs) {
+    }
+}
@@ -0,0 +1,89 @@
+-- 초기 스키마 (ddl-auto: update 로 운영되던 시점과 같은 구조)
+-- 기존 DB 는 baseline-on-migrate 로 V1 을 건너뛰고 V2 부터 적용
+-- 인덱스는 조회 패턴 기준으로 직접 지정 (Hibernate 자동 생성 인덱스 사용 안 함)
+
+CREATE TABLE users
+(
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at        DATETIME(6)  NOT NULL,
+    updated_at        DATETIME(6)  NULL,
+    user_id           VARCHAR(255) NULL,
+    email             VARCHAR(255) NULL,
+    password          VARCHAR(255) NULL,
+    display_name      VARCHAR(255) NOT NULL,
+    profile_image_url VARCHAR(255) NULL,
+    is_active         BIT(1)       NOT NULL,
+    email_verified    BIT(1)       NOT NULL,
+    PRIMARY KEY (id),
+    -- 로그인/토큰 검증 시 userId 로 단건 조회
+    UNIQUE KEY uk_users_user_id (user_id),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE roles
+(
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6)  NULL,
+    role_name   VARCHAR(50)  NOT NULL,
+    description VARCHAR(255) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_roles_role_name (role_name)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE user_roles
+(
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NULL,
+    user_id    BIGINT      NOT NULL,
+    role_id    BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    -- 사용자 → 역할 fetch join (user_id FK 인덱스 겸용)
+    KEY idx_user_roles_user_role (user_id, role_id),
+    KEY idx_user_roles_role_id (role_id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_user_roles_role FOREIGN KEY (role_id) REFERENCES roles (id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE oauth_users
+(
+    id                BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at        DATETIME(6)  NOT NULL,
+    updated_at        DATETIME(6)  NULL,
+    user_id           BIGINT       NOT NULL,
+    provider          VARCHAR(20)  NOT NULL,
+    provider_user_id  VARCHAR(255) NOT NULL,
+    email             VARCHAR(255) NULL,
+    display_name      VARCHAR(255) NULL,
+    profile_image_url VARCHAR(255) NULL,
+    raw_attributes    JSON         NULL,
+    PRIMARY KEY (id),
+    -- 공급자 콜백 시 (provider, provider_user_id) 단건 조회
+    UNIQUE KEY uk_oauth_users_provider_user (provider, provider_user_id),
+    KEY idx_oauth_users_user_id (user_id),
+    CONSTRAINT fk_oauth_users_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE user_refresh_tokens
+(
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at         DATETIME(6)  NOT NULL,
+    updated_at         DATETIME(6)  NULL,
+    user_id            BIGINT       NOT NULL,
+    refresh_token_hash VARCHAR(500) NOT NULL,
+    device_id          VARCHAR(255) NOT NULL,
+    user_agent         VARCHAR(255) NULL,
+    expires_at         DATETIME(6)  NOT NULL,
+    revoked            BIT(1)       NOT NULL,
+    PRIMARY KEY (id),
+    -- 기기당 한 행 (user_id FK 인덱스 겸용)
+    UNIQUE KEY uk_user_device (user_id, device_id),
+    KEY idx_urt_user_device_active (user_id, device_id, revoked, refresh_token_hash),
+    CONSTRAINT fk_urt_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4;
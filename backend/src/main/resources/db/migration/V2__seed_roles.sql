@@ -1,4 +1,5 @@
+-- 기본 역할 (기존 data.sql 대체, 한 번만 실행)
 INSERT IGNORE INTO roles (role_name, description, created_at, updated_at)
 VALUES
     ('ROLE_USER',  '일반 사용자', NOW(), NOW()),
-    ('ROLE_ADMIN', '관리자',    NOW(), NOW());
\ No newline at end of file
+    ('ROLE_ADMIN', '관리자',    NOW(), NOW());
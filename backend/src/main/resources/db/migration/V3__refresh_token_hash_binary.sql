@@ -0,0 +1,41 @@
+-- user_refresh_tokens.refresh_token_hash : VARCHAR(500) hex 문자열 → BINARY(32)
+-- 기존 hex 해시는 UNHEX 로 그대로 변환되므로 이미 발급된 리프레시 토큰도 계속 유효
+-- 예전 수동 스크립트(db/refresh_token_hash_binary.sql)를 이미 적용한 DB 는 해시 열이 BINARY 이므로 변환 전체를 건너뜀
+-- (조건부 실행은 MySQL/MariaDB 공통인 PREPARE 로, 대상이 아니면 DO 0)
+
+SET @urt_legacy_hash = (SELECT COUNT(*)
+                          FROM information_schema.COLUMNS
+                         WHERE TABLE_SCHEMA = DATABASE()
+                           AND TABLE_NAME = 'user_refresh_tokens'
+                           AND COLUMN_NAME = 'refresh_token_hash'
+                           AND DATA_TYPE = 'varchar');
+
+SET @stmt = IF(@urt_legacy_hash > 0,
+    'ALTER TABLE user_refresh_tokens ADD COLUMN IF NOT EXISTS refresh_token_hash_bin BINARY(32) NULL AFTER refresh_token_hash',
+    'DO 0');
+PREPARE migrate_stmt FROM @stmt;
+EXECUTE migrate_stmt;
+DEALLOCATE PREPARE migrate_stmt;
+
+SET @stmt = IF(@urt_legacy_hash > 0,
+    'UPDATE user_refresh_tokens SET refresh_token_hash_bin = UNHEX(refresh_token_hash) WHERE refresh_token_hash_bin IS NULL',
+    'DO 0');
+PREPARE migrate_stmt FROM @stmt;
+EXECUTE migrate_stmt;
+DEALLOCATE PREPARE migrate_stmt;
+
+-- 해시를 뺀 좁은 인덱스로 교체 (user_id 는 uk_user_device 가 FK 인덱스 역할)
+SET @stmt = IF(@urt_legacy_hash > 0,
+    'ALTER TABLE user_refresh_tokens
+         DROP INDEX IF EXISTS idx_urt_user_device_active,
+         DROP COLUMN refresh_token_hash,
+         CHANGE COLUMN refresh_token_hash_bin refresh_token_hash BINARY(32) NOT NULL,
+         ADD INDEX idx_urt_user_device_active (user_id, device_id, revoked)',
+    'DO 0');
+PREPARE migrate_stmt FROM @stmt;
+EXECUTE migrate_stmt;
+DEALLOCATE PREPARE migrate_stmt;
+
+-- 수동 스크립트 적용 DB 에 좁은 인덱스가 없는 경우 대비
+ALTER TABLE user_refresh_tokens
+    ADD INDEX IF NOT EXISTS idx_urt_user_device_active (user_id, device_id, revoked);
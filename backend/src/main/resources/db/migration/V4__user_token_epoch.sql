@@ -0,0 +1,8 @@
+-- users.token_epoch : 발급된 AccessToken 일괄 무효화용 세대 번호 (토큰의 ep 클레임과 비교)
+-- 기존 행은 0 으로 시작 → 이미 발급된 토큰(ep 없음)은 만료 시까지 그대로 유효
+-- updated_at 인덱스는 UserTokenEpochs 증분 조회용
+-- 수동 스크립트나 ddl-auto: update 로 이미 열/인덱스가 생긴 DB 도 통과하도록 IF NOT EXISTS (MariaDB)
+
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_epoch BIGINT NOT NULL DEFAULT 0,
+    ADD INDEX IF NOT EXISTS idx_users_updated_at (updated_at);
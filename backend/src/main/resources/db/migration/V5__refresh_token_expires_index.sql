@@ -0,0 +1,11 @@
+-- user_refresh_tokens 만료/폐기 행 정리 작업(RefreshTokenPurgeJob)용 인덱스
+-- 이미 폐기된 행도 expires_at 이 폐기 시각 이후로 남아 있으므로 한 번 당겨 둠
+-- 수동 스크립트나 ddl-auto: update 로 이미 인덱스가 생긴 DB 도 통과하도록 IF NOT EXISTS (MariaDB)
+
+ALTER TABLE user_refresh_tokens
+    ADD INDEX IF NOT EXISTS idx_urt_expires_at (expires_at);
+
+UPDATE user_refresh_tokens
+   SET expires_at = COALESCE(updated_at, NOW())
+ WHERE revoked = true
+   AND expires_at > COALESCE(updated_at, NOW());
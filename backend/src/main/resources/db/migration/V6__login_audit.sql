@@ -0,0 +1,20 @@
+-- 로그인/토큰 이벤트 감사 로그 (LoginAuditService 가 비동기 다중 행 INSERT)
+-- occurred_at 월 단위 RANGE 파티션: 오래된 달은 DROP PARTITION 으로 정리 (LoginAuditPartitionJob)
+-- 파티션 키가 모든 유니크 키에 포함돼야 하므로 PK 는 (id, occurred_at), id 는 TSID
+-- 초기에는 p_future 하나만 두고 기동 시 작업이 이번 달/다음 달 파티션을 분리
+
+CREATE TABLE login_audit (
+    id          BIGINT       NOT NULL,
+    occurred_at DATETIME(3)  NOT NULL,
+    event_type  VARCHAR(32)  NOT NULL,
+    user_pk     BIGINT       NULL,
+    user_id     VARCHAR(255) NULL,
+    device_id   VARCHAR(255) NULL,
+    ip          VARCHAR(45)  NULL,
+    user_agent  VARCHAR(512) NULL,
+    PRIMARY KEY (id, occurred_at),
+    KEY idx_login_audit_user (user_pk, occurred_at)
+) ENGINE = InnoDB
+  PARTITION BY RANGE COLUMNS (occurred_at) (
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
@@ -0,0 +1,7 @@
+-- idx_urt_user_device_active 제거
+-- (user_id, device_id) 는 uk_user_device 가 이미 한 행으로 고정하고 FK(user_id) 인덱스 역할도 함
+-- V1 정의는 refresh_token_hash 까지 포함해 회전마다 보조 인덱스도 다시 써야 했음
+-- 인덱스가 없는 DB(수동 스크립트 등)도 통과하도록 IF EXISTS (MariaDB)
+
+ALTER TABLE user_refresh_tokens
+    DROP INDEX IF EXISTS idx_urt_user_device_active;
@@ -0,0 +1,111 @@
+package com.common.api.login.config;
+
+import com.common.api.login.service.ReadYourWrites;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 내장 H2 두 개(primary / replica)로 라우팅 확인
+ * 각 DB 의 marker 테이블 값으로 실제로 어느 쪽에서 읽었는지 구분한다.
+ * */
+class ReplicaRoutingDataSourceTest {
+
+    private static final DataSource PRIMARY = h2("routing_primary");
+    private static final DataSource REPLICA = h2("routing_replica");
+
+    @BeforeAll
+    static void createMarkers() {
+        marker(PRIMARY, "primary");
+        marker(REPLICA, "replica");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(REPLICA), "SELECT 0");
+        monitor.poll();
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(PRIMARY, monitor, new ReadYourWrites(60_000), 1_000);
+        DataSource dataSource = DataSourceRoutingConfig.routingDataSource(PRIMARY, router);
+
+        assertThat(readMarker(dataSource, true)).isEqualTo("replica");
+        assertThat(readMarker(dataSource, false)).isEqualTo("primary");
+        assertThat(router.getReplicaReadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(REPLICA), "SELECT 0");
+        monitor.poll();
+        ReadYourWrites readYourWrites = new ReadYourWrites(60_000);
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(PRIMARY, monitor, readYourWrites, 1_000);
+        DataSource dataSource = DataSourceRoutingConfig.routingDataSource(PRIMARY, router);
+
+        readYourWrites.markWritten("writer");
+
+        assertThat(readYourWrites.readAs("writer", () -> readMarker(dataSource, true))).isEqualTo("primary");
+        assertThat(readYourWrites.readAs("someone-else", () -> readMarker(dataSource, true))).isEqualTo("replica");
+        assertThat(router.getPinnedReadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        // 5초 지연 보고 > max-lag 1초
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(REPLICA), "SELECT 5");
+        monitor.poll();
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(PRIMARY, monitor, new ReadYourWrites(60_000), 1_000);
+        DataSource dataSource = DataSourceRoutingConfig.routingDataSource(PRIMARY, router);
+
+        assertThat(monitor.currentLagMillis()).isEqualTo(5_000);
+        assertThat(readMarker(dataSource, true)).isEqualTo("primary");
+        assertThat(router.getLagFallbackCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimary() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(REPLICA), "SELECT * FROM no_such_table");
+        monitor.poll();
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(PRIMARY, monitor, new ReadYourWrites(60_000), 1_000);
+
+        assertThat(monitor.lagMillis(0)).isEqualTo(ReplicaLagMonitor.UNKNOWN);
+        assertThat(readMarker(DataSourceRoutingConfig.routingDataSource(PRIMARY, router), true)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaIsSkippedUntilFirstPoll() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(REPLICA), "SELECT 0");
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(PRIMARY, monitor, new ReadYourWrites(60_000), 1_000);
+        DataSource dataSource = DataSourceRoutingConfig.routingDataSource(PRIMARY, router);
+
+        assertThat(monitor.lagMillis(0)).isEqualTo(ReplicaLagMonitor.UNKNOWN);
+        assertThat(readMarker(dataSource, true)).isEqualTo("primary");
+
+        monitor.poll();
+        assertThat(readMarker(dataSource, true)).isEqualTo("replica");
+    }
+
+    private static String readMarker(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tx.setReadOnly(readOnly);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        return tx.execute(status -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static void marker(DataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+    }
+}
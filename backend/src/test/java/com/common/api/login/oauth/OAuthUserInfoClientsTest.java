@@ -0,0 +1,159 @@
+package com.common.api.login.oauth;
+
+import com.common.api.login.enums.OAuthProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.userinfo.OAuth2UserRequest;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 로컬 스텁 서버로 user-info 호출 검증
+ * - 카카오: 미리 계산된 property_keys form POST, keep-alive 커넥션 재사용
+ * - 구글: 기본 GET
+ * - 응답이 read-timeout 보다 늦으면 빠르게 실패
+ * */
+class OAuthUserInfoClientsTest {
+
+    private static final String USER_JSON = "{\"id\":12345,\"sub\":\"g-1\",\"email\":\"a@example.com\"}";
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private OAuthUserInfoClients clients;
+    private final List<Captured> captured = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.createContext("/v2/user/me", exchange -> respond(exchange, 0));
+        server.createContext("/userinfo", exchange -> respond(exchange, 0));
+        server.createContext("/slow", exchange -> respond(exchange, 2000));
+        server.start();
+
+        clients = new OAuthUserInfoClients(500, 300, 500, 4, 30_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.destroy();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void kakaoPostsPrecomputedPropertyKeysOverReusedConnection() {
+        OAuth2UserRequest request = request("kakao", "/v2/user/me", "id",
+                "profile_nickname", "account_email");
+
+        OAuth2User first = clients.userService(OAuthProvider.KAKAO).loadUser(request);
+        OAuth2User second = clients.userService(OAuthProvider.KAKAO).loadUser(request);
+
+        assertThat(first.getName()).isEqualTo("12345");
+        assertThat(second.getName()).isEqualTo("12345");
+        assertThat(captured).hasSize(2);
+
+        Captured call = captured.get(0);
+        assertThat(call.method()).isEqualTo("POST");
+        assertThat(call.authorization()).isEqualTo("Bearer test-access-token");
+        assertThat(URLDecoder.decode(call.body(), StandardCharsets.UTF_8))
+                .isEqualTo("property_keys=[\"kakao_account.profile\",\"kakao_account.email\"]");
+
+        // 두 번째 호출은 같은 커넥션(같은 클라이언트 포트)으로 나가고, 끝나면 풀에 반납
+        assertThat(captured.get(1).clientPort()).isEqualTo(call.clientPort());
+        assertThat(clients.poolStats(OAuthProvider.KAKAO).getLeased()).isZero();
+        assertThat(clients.poolStats(OAuthProvider.KAKAO).getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void googleUsesGetOnItsOwnPool() {
+        OAuth2User user = clients.userService(OAuthProvider.GOOGLE)
+                .loadUser(request("google", "/userinfo", "sub", "openid", "email"));
+
+        assertThat(user.getName()).isEqualTo("g-1");
+        assertThat(captured.get(0).method()).isEqualTo("GET");
+        assertThat(clients.poolStats(OAuthProvider.GOOGLE).getAvailable()).isEqualTo(1);
+        assertThat(clients.poolStats(OAuthProvider.KAKAO).getAvailable()).isZero();
+    }
+
+    @Test
+    void slowProviderFailsAfterReadTimeout() {
+        OAuth2UserRequest request = request("google", "/slow", "sub", "openid");
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> clients.userService(OAuthProvider.GOOGLE).loadUser(request))
+                .isInstanceOf(OAuth2AuthenticationException.class);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(elapsedMs).isLessThan(1500);
+        assertThat(clients.poolStats(OAuthProvider.GOOGLE).getLeased()).isZero();
+    }
+
+    private OAuth2UserRequest request(String registrationId, String path, String nameAttribute, String... scopes) {
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        ClientRegistration registration = ClientRegistration.withRegistrationId(registrationId)
+                .clientId("client")
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                .authorizationUri(base + "/authorize")
+                .tokenUri(base + "/token")
+                .userInfoUri(base + path)
+                .userNameAttributeName(nameAttribute)
+                .scope(scopes)
+                .build();
+        OAuth2AccessToken token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, "test-access-token",
+                Instant.now(), Instant.now().plusSeconds(60));
+        return new OAuth2UserRequest(registration, token);
+    }
+
+    private void respond(HttpExchange exchange, long delayMs) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        captured.add(new Captured(
+                exchange.getRequestMethod(),
+                exchange.getRequestHeaders().getFirst("Authorization"),
+                body,
+                exchange.getRemoteAddress().getPort()));
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] response = USER_JSON.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        try {
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (IOException ignored) {
+            // 클라이언트가 타임아웃으로 먼저 끊은 경우
+        }
+    }
+
+    private record Captured(String method, String authorization, String body, int clientPort) {
+    }
+}
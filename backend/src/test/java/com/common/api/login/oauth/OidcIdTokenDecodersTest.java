@@ -0,0 +1,171 @@
+package com.common.api.login.oauth;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 로컬 JWKS 스텁으로 ID 토큰 디코더 검증
+ * - 선조회 후 로그인(디코드)마다 JWKS 를 다시 받지 않음
+ * - 모르는 kid 는 한 번만 재조회, 만료 전 갱신은 요청 경로 밖에서
+ * */
+class OidcIdTokenDecodersTest {
+
+    private static final String ISSUER = "https://accounts.google.com";
+    private static final String CLIENT_ID = "test-client";
+
+    private HttpServer server;
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+    private volatile RSAKey servedKey;
+    private volatile String cacheControl;
+    private volatile boolean failing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servedKey = newKey("k1");
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/certs", this::serveJwks);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void warmUpFetchesOnceAndLoginsDecodeFromCache() throws Exception {
+        cacheControl = "public, max-age=3600";
+        OidcIdTokenDecoders decoders = new OidcIdTokenDecoders(new RestTemplate(), 60_000, 5_000, 30_000);
+        ClientRegistration registration = registration();
+
+        decoders.warmUp(List.of(registration));
+        assertThat(jwksRequests.get()).isEqualTo(1);
+
+        JwtDecoder decoder = decoders.createDecoder(registration);
+        assertThat(decoders.createDecoder(registration)).isSameAs(decoder);
+        for (int i = 0; i < 3; i++) {
+            Jwt jwt = decoder.decode(idToken(servedKey, "user-" + i));
+            assertThat(jwt.getSubject()).isEqualTo("user-" + i);
+        }
+
+        assertThat(jwksRequests.get()).isEqualTo(1);
+        assertThat(decoders.getFetchCount()).isEqualTo(1);
+        // max-age 3600s 이므로 refresh-ahead 대상 아님
+        decoders.refreshExpiring();
+        assertThat(jwksRequests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownKidRefetchesOnceAfterKeyRotation() throws Exception {
+        OidcIdTokenDecoders decoders = new OidcIdTokenDecoders(new RestTemplate(), 60_000, 5_000, 0);
+        ClientRegistration registration = registration();
+        decoders.warmUp(List.of(registration));
+
+        servedKey = newKey("k2");
+        Jwt jwt = decoders.createDecoder(registration).decode(idToken(servedKey, "rotated"));
+
+        assertThat(jwt.getSubject()).isEqualTo("rotated");
+        assertThat(jwksRequests.get()).isEqualTo(2);
+        assertThat(decoders.getUnknownKeyRefetchCount()).isEqualTo(1);
+
+        decoders.createDecoder(registration).decode(idToken(servedKey, "again"));
+        assertThat(jwksRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void refreshAheadRunsOutsideLoginPathAndKeepsKeysOnFailure() throws Exception {
+        // Cache-Control 없음 → ttl 1s, refresh-ahead 1s 라 바로 갱신 대상
+        OidcIdTokenDecoders decoders = new OidcIdTokenDecoders(new RestTemplate(), 1_000, 1_000, 30_000);
+        ClientRegistration registration = registration();
+        decoders.warmUp(List.of(registration));
+
+        decoders.refreshExpiring();
+        assertThat(jwksRequests.get()).isEqualTo(2);
+        assertThat(decoders.getRefreshAheadCount()).isEqualTo(1);
+
+        // 제공자 장애: 갱신은 실패해도 기존 키로 계속 검증
+        failing = true;
+        decoders.refreshExpiring();
+        assertThat(decoders.getFetchFailureCount()).isEqualTo(1);
+        assertThat(decoders.createDecoder(registration).decode(idToken(servedKey, "stale")).getSubject())
+                .isEqualTo("stale");
+    }
+
+    private ClientRegistration registration() {
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        return ClientRegistration.withRegistrationId("google")
+                .clientId(CLIENT_ID)
+                .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+                .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+                .authorizationUri(base + "/authorize")
+                .tokenUri(base + "/token")
+                .jwkSetUri(base + "/certs")
+                .userNameAttributeName("sub")
+                .scope("openid", "email")
+                .build();
+    }
+
+    private static RSAKey newKey(String kid) throws JOSEException {
+        return new RSAKeyGenerator(2048).keyID(kid).generate();
+    }
+
+    private static String idToken(RSAKey key, String subject) throws JOSEException {
+        long now = System.currentTimeMillis();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .audience(CLIENT_ID)
+                .issueTime(new Date(now))
+                .expirationTime(new Date(now + 60_000))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    private void serveJwks(HttpExchange exchange) throws IOException {
+        jwksRequests.incrementAndGet();
+        if (failing) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+        byte[] body = new JWKSet(servedKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (cacheControl != null) {
+            exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.common.api.login.repository;
+
+import com.common.api.login.entity.user.User;
+import com.common.api.login.entity.user.UserRefreshToken;
+import com.common.api.login.util.TsidGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * issueOrReplace (INSERT ... ON DUPLICATE KEY UPDATE) 동시성 검증, 불투명 토큰 PK 회전
+ * 테스트 메서드 트랜잭션을 끄고, 각 스레드가 자기 트랜잭션으로 바로 커밋하게 한다.
+ * */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:urt;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRefreshTokenRepositoryTest {
+
+    private static final int THREADS = 16;
+    private static final TsidGenerator IDS = TsidGenerator.forNode(0);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertsThenReplacesSameDevice() {
+        User user = saveUser("upsert-user");
+        LocalDateTime now = LocalDateTime.now();
+
+        int inserted = refreshTokenRepository.issueOrReplace(IDS.nextId(), user.getId(), "device-1", hash(1), now.plusDays(1), "ua-1", now);
+        long replacedId = IDS.nextId();
+        refreshTokenRepository.issueOrReplace(replacedId, user.getId(), "device-1", hash(2), now.plusDays(2), "ua-2", now);
+
+        assertThat(inserted).isEqualTo(1);
+
+        List<UserRefreshToken> rows = refreshTokenRepository.findAll();
+        assertThat(rows).hasSize(1);
+        UserRefreshToken row = rows.get(0);
+        assertThat(row.getRefreshTokenHash()).isEqualTo(hash(2));
+        assertThat(row.getUserAgent()).isEqualTo("ua-2");
+        assertThat(row.isRevoked()).isFalse();
+        // 교체 시에도 새 id (불투명 토큰의 행 id)
+        assertThat(row.getId()).isEqualTo(replacedId);
+    }
+
+    @Test
+    void rotatesOpaqueTokenByPrimaryKeyOnlyOnce() {
+        User user = saveUser("opaque-user");
+        LocalDateTime now = LocalDateTime.now();
+        long rowId = IDS.nextId();
+        refreshTokenRepository.issueOrReplace(rowId, user.getId(), "device-1", hash(1), now.plusDays(1), "ua", now);
+
+        UserRefreshTokenRepository.TokenState state = refreshTokenRepository.findTokenStateById(rowId).orElseThrow();
+        assertThat(state.getUserId()).isEqualTo("opaque-user");
+        assertThat(state.getDeviceId()).isEqualTo("device-1");
+        assertThat(state.getRefreshTokenHash()).isEqualTo(hash(1));
+        assertThat(state.getRevoked()).isFalse();
+
+        // 같은 이전 해시로 두 번 회전하면 두 번째는 0건
+        Integer first = transactionTemplate.execute(status -> refreshTokenRepository.rotateByIdIfValid(
+                rowId, hash(1), hash(2), now.plusDays(2), "ua", LocalDateTime.now()));
+        Integer second = transactionTemplate.execute(status -> refreshTokenRepository.rotateByIdIfValid(
+                rowId, hash(1), hash(3), now.plusDays(2), "ua", LocalDateTime.now()));
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(refreshTokenRepository.findTokenStateById(rowId).orElseThrow().getRefreshTokenHash())
+                .isEqualTo(hash(2));
+    }
+
+    @Test
+    void concurrentLoginsFromSameDeviceLeaveOneRow() throws Exception {
+        User user = saveUser("concurrent-user");
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                byte[] hash = hash(i);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    LocalDateTime now = LocalDateTime.now();
+                    return refreshTokenRepository.issueOrReplace(
+                            IDS.nextId(), user.getId(), "shared-device", hash, now.plusDays(1), "ua", now);
+                }));
+            }
+            start.countDown();
+
+            // 어느 스레드도 중복 키 예외로 실패하지 않아야 함
+            for (Future<Integer> result : results) {
+                assertThat(result.get(30, TimeUnit.SECONDS)).isPositive();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<UserRefreshToken> rows = refreshTokenRepository.findAll();
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getDeviceId()).isEqualTo("shared-device");
+        assertThat(rows.get(0).getRefreshTokenHash()).hasSize(32);
+    }
+
+    private User saveUser(String userId) {
+        return userRepository.save(User.builder()
+                .userId(userId)
+                .email(userId + "@example.com")
+                .displayName(userId)
+                .build());
+    }
+
+    private static byte[] hash(int seed) {
+        byte[] hash = new byte[32];
+        hash[0] = (byte) seed;
+        hash[31] = (byte) (seed >>> 8);
+        return hash;
+    }
+}
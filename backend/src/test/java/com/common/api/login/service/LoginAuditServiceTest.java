@@ -0,0 +1,213 @@
+package com.common.api.login.service;
+
+import com.common.api.login.dto.LoginAuditEvent;
+import com.common.api.login.enums.LoginEventType;
+import com.common.api.login.util.TsidGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 감사 로그 파이프라인: 넘침 정책(drop / block) 카운터, 다중 행 INSERT, stop() 시 남은 이벤트 기록
+ * 기록 스레드를 첫 INSERT 에서 멈춰 둘 수 있는 JdbcTemplate 으로 버퍼가 차는 상황을 만든다.
+ * */
+class LoginAuditServiceTest {
+
+    private static final DataSource H2 =
+            new DriverManagerDataSource("jdbc:h2:mem:login_audit;MODE=MariaDB;DB_CLOSE_DELAY=-1", "sa", "");
+
+    private GatedJdbcTemplate jdbc;
+    private LoginAuditService service;
+
+    @BeforeEach
+    void createTable() {
+        jdbc = new GatedJdbcTemplate(H2);
+        jdbc.execute("DROP TABLE IF EXISTS login_audit");
+        jdbc.execute("""
+                CREATE TABLE login_audit (
+                    id          BIGINT       NOT NULL,
+                    occurred_at DATETIME(3)  NOT NULL,
+                    event_type  VARCHAR(32)  NOT NULL,
+                    user_pk     BIGINT       NULL,
+                    user_id     VARCHAR(255) NULL,
+                    device_id   VARCHAR(255) NULL,
+                    ip          VARCHAR(45)  NULL,
+                    user_agent  VARCHAR(512) NULL,
+                    PRIMARY KEY (id, occurred_at)
+                )
+                """);
+    }
+
+    @AfterEach
+    void stopWriter() throws InterruptedException {
+        jdbc.release.countDown();
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void dropPolicyCountsOverflow() throws Exception {
+        service = start(4, 1, "drop", 0);
+        holdWriterInFirstFlush();
+
+        for (int i = 0; i < 6; i++) {
+            service.record(event(i));
+        }
+
+        // 버퍼 4칸이 차고 나머지 2건은 즉시 버림
+        assertThat(service.getQueueCapacity()).isEqualTo(4);
+        assertThat(service.getQueueDepth()).isEqualTo(4);
+        assertThat(service.getEnqueuedCount()).isEqualTo(5);
+        assertThat(service.getDroppedCount()).isEqualTo(2);
+
+        jdbc.release.countDown();
+        service.stop();
+        assertThat(service.getWrittenCount()).isEqualTo(5);
+        assertThat(rowCount()).isEqualTo(5);
+    }
+
+    @Test
+    void blockPolicyDropsAfterTimeout() throws Exception {
+        service = start(4, 1, "block", 20);
+        holdWriterInFirstFlush();
+        for (int i = 0; i < 4; i++) {
+            service.record(event(i));
+        }
+
+        long start = System.nanoTime();
+        service.record(event(99));
+
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20));
+        assertThat(service.getDroppedCount()).isEqualTo(1);
+        assertThat(service.getEnqueuedCount()).isEqualTo(5);
+    }
+
+    @Test
+    void blockPolicyWaitsForWriterToFreeSpace() throws Exception {
+        service = start(4, 1, "block", 10_000);
+        holdWriterInFirstFlush();
+        for (int i = 0; i < 4; i++) {
+            service.record(event(i));
+        }
+
+        Thread blocked = new Thread(() -> service.record(event(99)));
+        blocked.start();
+        jdbc.release.countDown();
+        blocked.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(blocked.isAlive()).isFalse();
+        assertThat(service.getDroppedCount()).isZero();
+        assertThat(service.getEnqueuedCount()).isEqualTo(6);
+
+        service.stop();
+        assertThat(rowCount()).isEqualTo(6);
+    }
+
+    @Test
+    void writesBatchesAsMultiRowInserts() throws Exception {
+        service = start(16, 4, "drop", 0);
+        holdWriterInFirstFlush();
+        for (int i = 1; i <= 8; i++) {
+            service.record(event(i));
+        }
+
+        jdbc.release.countDown();
+        service.stop();
+
+        // 첫 1건 + batch-size 4 씩 두 문장
+        assertThat(jdbc.rowsPerStatement).containsExactly(1, 4, 4);
+        assertThat(service.getFlushCount()).isEqualTo(3);
+        assertThat(service.getWrittenCount()).isEqualTo(9);
+        assertThat(rowCount()).isEqualTo(9);
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "SELECT event_type, user_pk, user_id, device_id, ip, user_agent FROM login_audit WHERE user_id = 'user-3'");
+        assertThat(row.get("event_type")).isEqualTo("LOGIN_SUCCESS");
+        assertThat(((Number) row.get("user_pk")).longValue()).isEqualTo(3L);
+        assertThat(row.get("device_id")).isEqualTo("device-3");
+        assertThat(row.get("ip")).isEqualTo("10.0.0.3");
+        // user_agent 는 컬럼 길이(512)로 잘라서 기록
+        assertThat((String) row.get("user_agent")).hasSize(512);
+    }
+
+    @Test
+    void stopFlushesQueuedEvents() throws Exception {
+        // batch-size 에 못 미치고 flush 주기도 길어서 stop() 전까지는 깨우지 않음
+        jdbc.release.countDown();
+        service = new LoginAuditService(jdbc, TsidGenerator.forNode(0), true, 64, 100, 60_000, "drop", 0);
+        service.start();
+        for (int i = 0; i < 10; i++) {
+            service.record(event(i));
+        }
+
+        service.stop();
+
+        assertThat(service.getQueueDepth()).isZero();
+        assertThat(service.getWrittenCount()).isEqualTo(10);
+        assertThat(rowCount()).isEqualTo(10);
+
+        // 멈춘 뒤 기록은 무시
+        service.record(event(11));
+        assertThat(service.getEnqueuedCount()).isEqualTo(10);
+    }
+
+    private LoginAuditService start(int capacity, int batchSize, String policy, long blockTimeoutMs) {
+        LoginAuditService audit = new LoginAuditService(
+                jdbc, TsidGenerator.forNode(0), true, capacity, batchSize, 10, policy, blockTimeoutMs);
+        audit.start();
+        return audit;
+    }
+
+    /**
+     * 1건 기록 → 기록 스레드가 꺼내서 INSERT 에 들어가면 release 전까지 대기
+     */
+    private void holdWriterInFirstFlush() throws InterruptedException {
+        service.record(event(0));
+        assertThat(jdbc.flushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.getQueueDepth()).isZero();
+    }
+
+    private long rowCount() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM login_audit", Long.class);
+    }
+
+    private static LoginAuditEvent event(int i) {
+        return LoginAuditEvent.of(LoginEventType.LOGIN_SUCCESS, (long) i, "user-" + i, "device-" + i,
+                "10.0.0." + i, "agent-" + "x".repeat(600));
+    }
+
+    private static class GatedJdbcTemplate extends JdbcTemplate {
+
+        private final CountDownLatch flushStarted = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<Integer> rowsPerStatement = new CopyOnWriteArrayList<>();
+
+        GatedJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            flushStarted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            rowsPerStatement.add(args.length / 8);
+            return super.update(sql, args);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.common.api.login.service;
+
+import com.common.api.login.dto.TokenResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 같은 (이전 토큰 해시, deviceId) 갱신 요청 합치기
+ * - 동시에 들어온 요청은 회전 한 번, 모두 같은 TokenResponse
+ * - window 안의 재요청은 보관 결과, window 이후에는 다시 회전
+ * - 실패는 보관하지 않음, max-entries 초과 시 보관 없이 회전, 로그아웃 시 제거
+ * */
+class RefreshGraceCacheTest {
+
+    private static final int THREADS = 16;
+
+    @Test
+    void concurrentRequestsShareOneRotation() throws Exception {
+        RefreshGraceCache cache = new RefreshGraceCache(10_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Supplier<RefreshGraceCache.Rotated> rotation = () -> {
+            calls.incrementAndGet();
+            sleep(50); // 회전 중에 나머지 요청이 도착하도록
+            return rotated("user-1", calls.get());
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<TokenResponse>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.rotate(hash(1), "device-1", rotation);
+                }));
+            }
+            start.countDown();
+
+            TokenResponse first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<TokenResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.getRotationCount()).isEqualTo(1);
+        assertThat(cache.getJoinedInFlightCount() + cache.getServedFromWindowCount()).isEqualTo(THREADS - 1);
+    }
+
+    @Test
+    void requestAfterWindowRotatesAgain() {
+        RefreshGraceCache cache = new RefreshGraceCache(50, 100);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<RefreshGraceCache.Rotated> rotation = () -> rotated("user-1", calls.incrementAndGet());
+
+        TokenResponse first = cache.rotate(hash(1), "device-1", rotation);
+        assertThat(cache.rotate(hash(1), "device-1", rotation)).isSameAs(first);
+        assertThat(cache.getServedFromWindowCount()).isEqualTo(1);
+
+        sleep(100);
+        TokenResponse second = cache.rotate(hash(1), "device-1", rotation);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void sameTokenFromAnotherDeviceIsNotShared() {
+        RefreshGraceCache cache = new RefreshGraceCache(10_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<RefreshGraceCache.Rotated> rotation = () -> rotated("user-1", calls.incrementAndGet());
+
+        cache.rotate(hash(1), "device-1", rotation);
+        cache.rotate(hash(1), "device-2", rotation);
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failureIsSharedWithJoinersButNotCached() throws Exception {
+        RefreshGraceCache cache = new RefreshGraceCache(10_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<RefreshGraceCache.Rotated> failing = () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new IllegalArgumentException("폐기된 토큰");
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<TokenResponse> owner = pool.submit(() -> cache.rotate(hash(1), "device-1", failing));
+            while (calls.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Future<TokenResponse> joiner = pool.submit(() -> cache.rotate(hash(1), "device-1", failing));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (cache.getJoinedInFlightCount() == 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> joiner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+
+        // 실패는 보관하지 않으므로 다음 요청은 다시 회전
+        cache.rotate(hash(1), "device-1", () -> rotated("user-1", 2));
+        assertThat(cache.getRotationCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fullCacheRotatesWithoutCaching() {
+        RefreshGraceCache cache = new RefreshGraceCache(10_000, 1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<RefreshGraceCache.Rotated> rotation = () -> rotated("user-1", calls.incrementAndGet());
+
+        cache.rotate(hash(1), "device-1", rotation);
+        cache.rotate(hash(2), "device-1", rotation);
+        cache.rotate(hash(2), "device-1", rotation);
+
+        // hash(2) 는 보관되지 않아 매번 회전
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(cache.getServedFromWindowCount()).isZero();
+    }
+
+    @Test
+    void evictRemovesLoggedOutSessions() {
+        RefreshGraceCache cache = new RefreshGraceCache(10_000, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.rotate(hash(1), "device-1", () -> rotated("user-1", calls.incrementAndGet()));
+        cache.rotate(hash(2), "device-2", () -> rotated("user-1", calls.incrementAndGet()));
+        cache.rotate(hash(3), "device-1", () -> rotated("user-2", calls.incrementAndGet()));
+
+        cache.evict("user-1", "device-1");
+        assertThat(cache.size()).isEqualTo(2);
+
+        // deviceId 없음 → 해당 사용자 전체
+        cache.evict("user-1", null);
+        assertThat(cache.size()).isEqualTo(1);
+
+        // 로그아웃한 세션의 이전 토큰은 보관 결과로 응답하지 않고 다시 회전(→ DB 에서 거절)
+        cache.rotate(hash(1), "device-1", () -> rotated("user-1", calls.incrementAndGet()));
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    private static RefreshGraceCache.Rotated rotated(String userId, int n) {
+        return new RefreshGraceCache.Rotated(userId, new TokenResponse("access-" + n, "refresh-" + n));
+    }
+
+    private static byte[] hash(int seed) {
+        byte[] hash = new byte[32];
+        hash[0] = (byte) seed;
+        return hash;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
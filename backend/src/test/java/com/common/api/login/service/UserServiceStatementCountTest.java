@@ -0,0 +1,309 @@
+package com.common.api.login.service;
+
+import com.common.api.login.config.AppBeansConfig;
+import com.common.api.login.dto.SignupRequest;
+import com.common.api.login.dto.TokenResponse;
+import com.common.api.login.entity.user.RoleEntity;
+import com.common.api.login.entity.user.User;
+import com.common.api.login.enums.OAuthProvider;
+import com.common.api.login.enums.RoleType;
+import com.common.api.login.metrics.AuthMetrics;
+import com.common.api.login.oauth.KakaoUserInfo;
+import com.common.api.login.repository.OAuthUserRepository;
+import com.common.api.login.repository.RoleRepository;
+import com.common.api.login.repository.UserRefreshTokenRepository;
+import com.common.api.login.repository.UserRepository;
+import com.common.api.login.repository.UserRoleRepository;
+import com.common.api.login.security.AccessTokenDenylist;
+import com.common.api.login.util.JwtTokenProvider;
+import com.common.api.login.util.OpaqueRefreshToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.common.api.login.util.HashUtils.sha256;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 가입 / OAuth 첫 로그인 시 실행되는 SQL 문장 수 (Hibernate Statistics 의 prepareStatement 횟수)
+ * IDENTITY 일 때: 가입 = exists 2 + users INSERT + 역할 SELECT + user_roles INSERT
+ *                OAuth 첫 로그인 = users SELECT + users INSERT + 역할 SELECT + user_roles INSERT + oauth_users SELECT/INSERT
+ * TSID + 배치: INSERT 는 커밋 시 테이블별로 묶이고, 역할/oauth_users 조회는 생략
+ * refresh 회전 최소 나이: min-age 미만이면 user_refresh_tokens UPDATE 없음 (StatementInspector 로 SQL 수집)
+ * */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stmt;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.common.api.login.service.UserServiceStatementCountTest$SqlCapture",
+        "security.refresh-rotation.min-age-ms=300000",
+        "spring.flyway.enabled=false",
+        "jwt.denylist.snapshot-path=",
+        "audit.login.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        AppBeansConfig.class, UserService.class, PasswordHashingService.class, JwtTokenProvider.class,
+        UserSnapshotCache.class, ReadYourWrites.class, RoleCatalog.class, AccessTokenDenylist.class,
+        LoginAuditService.class, RefreshGraceCache.class, RefreshRotationPolicy.class, RefreshTokenIssuer.class, AuthMetrics.class, SimpleMeterRegistry.class
+})
+class UserServiceStatementCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private OAuthUserRepository oauthUserRepository;
+
+    @Autowired
+    private UserRefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository.save(RoleEntity.builder().roleName(RoleType.ROLE_USER).description("일반 사용자").build());
+        roleRepository.save(RoleEntity.builder().roleName(RoleType.ROLE_ADMIN).description("관리자").build());
+        roleCatalog.load();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAllInBatch();
+        oauthUserRepository.deleteAllInBatch();
+        userRoleRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        roleRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void signupRunsFourStatements() {
+        SignupRequest request = new SignupRequest();
+        request.setUserId("signup-user");
+        request.setEmail("signup-user@example.com");
+        request.setPassword("password");
+        request.setDisplayName("signup");
+
+        userService.registerUser(request);
+
+        // existsByUserId + existsByEmail + users INSERT + user_roles INSERT (역할 SELECT 없음)
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void freshSignupKeepsTokenEpochZero() {
+        SignupRequest request = new SignupRequest();
+        request.setUserId("epoch-user");
+        request.setEmail("epoch-user@example.com");
+        request.setPassword("password");
+        request.setDisplayName("epoch");
+
+        userService.registerUser(request);
+        userService.processOAuth2Login(OAuthProvider.KAKAO, kakao(3003L), Map.of("id", 3003L));
+
+        assertThat(userRepository.findByUserId("epoch-user").orElseThrow().getTokenEpoch()).isZero();
+        assertThat(userRepository.findByUserId("3003").orElseThrow().getTokenEpoch()).isZero();
+
+        // 저장된 사용자의 역할 변경은 epoch 증가
+        transactionTemplate.executeWithoutResult(status -> userRepository.findByUserId("epoch-user").orElseThrow()
+                .addRole(roleCatalog.reference(RoleType.ROLE_ADMIN)));
+        assertThat(userRepository.findByUserId("epoch-user").orElseThrow().getTokenEpoch()).isEqualTo(1);
+    }
+
+    @Test
+    void oauthFirstLoginRunsFourStatements() {
+        userService.processOAuth2Login(OAuthProvider.KAKAO, kakao(1001L), Map.of("id", 1001L));
+
+        // users SELECT + users / user_roles / oauth_users INSERT (oauth_users 조회 없음)
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(oauthUserRepository.findByProviderAndProviderUserId(OAuthProvider.KAKAO, "1001")).isPresent();
+    }
+
+    @Test
+    void oauthRepeatLoginInsertsNothing() {
+        userService.processOAuth2Login(OAuthProvider.KAKAO, kakao(2002L), Map.of("id", 2002L));
+        statistics.clear();
+
+        userService.processOAuth2Login(OAuthProvider.KAKAO, kakao(2002L), Map.of("id", 2002L));
+
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(userRoleRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void insertsOfSameTableShareOneBatch() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                User user = User.builder()
+                        .userId("batch-" + i)
+                        .email("batch-" + i + "@example.com")
+                        .displayName("batch-" + i)
+                        .build();
+                user.addRole(roleCatalog.reference(RoleType.ROLE_USER));
+                users.add(user);
+            }
+            userRepository.saveAll(users);
+        });
+
+        // users 10 행, user_roles 10 행이 각각 한 번의 prepare 로 배치 실행
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void youngJwtRefreshTokenIsNotRewritten() {
+        long userPk = signup("young-jwt");
+        String refreshToken = jwtTokenProvider.createRefreshToken("young-jwt");
+        storeRefreshToken(1L, userPk, refreshToken, LocalDateTime.now().minusSeconds(10));
+        SqlCapture.STATEMENTS.clear();
+
+        TokenResponse response = userService.refreshToken(refreshToken, "device-1", "ua", "127.0.0.1");
+
+        // AccessToken 만 새로 발급, refresh token 과 행은 그대로
+        assertThat(response.getAccessToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isEqualTo(refreshToken);
+        assertThat(SqlCapture.updates("user_refresh_tokens")).isZero();
+    }
+
+    @Test
+    void agedJwtRefreshTokenRotatesWithOneUpdate() {
+        long userPk = signup("aged-jwt");
+        String refreshToken = jwtTokenProvider.createRefreshToken("aged-jwt");
+        storeRefreshToken(1L, userPk, refreshToken, LocalDateTime.now().minusMinutes(10));
+        SqlCapture.STATEMENTS.clear();
+
+        TokenResponse response = userService.refreshToken(refreshToken, "device-1", "ua", "127.0.0.1");
+
+        assertThat(response.getRefreshToken()).isNotEqualTo(refreshToken);
+        assertThat(SqlCapture.updates("user_refresh_tokens")).isEqualTo(1);
+        assertThat(refreshTokenRepository.findAll().get(0).getRefreshTokenHash()).isEqualTo(sha256(response.getRefreshToken()));
+    }
+
+    @Test
+    void youngOpaqueRefreshTokenIsNotRewritten() {
+        long userPk = signup("young-opaque");
+        String refreshToken = OpaqueRefreshToken.create(2L);
+        storeRefreshToken(2L, userPk, refreshToken, LocalDateTime.now().minusSeconds(10));
+        SqlCapture.STATEMENTS.clear();
+
+        TokenResponse response = userService.refreshToken(refreshToken, "device-1", "ua", "127.0.0.1");
+
+        assertThat(response.getAccessToken()).isNotBlank();
+        assertThat(response.getRefreshToken()).isEqualTo(refreshToken);
+        assertThat(SqlCapture.updates("user_refresh_tokens")).isZero();
+    }
+
+    @Test
+    void agedOpaqueRefreshTokenRotatesWithOneUpdate() {
+        long userPk = signup("aged-opaque");
+        String refreshToken = OpaqueRefreshToken.create(2L);
+        storeRefreshToken(2L, userPk, refreshToken, LocalDateTime.now().minusMinutes(10));
+        SqlCapture.STATEMENTS.clear();
+
+        TokenResponse response = userService.refreshToken(refreshToken, "device-1", "ua", "127.0.0.1");
+
+        // 같은 행(PK)을 새 난수로 회전
+        assertThat(response.getRefreshToken()).isNotEqualTo(refreshToken);
+        assertThat(OpaqueRefreshToken.parseRowId(response.getRefreshToken())).isEqualTo(2L);
+        assertThat(SqlCapture.updates("user_refresh_tokens")).isEqualTo(1);
+    }
+
+    private long signup(String userId) {
+        SignupRequest request = new SignupRequest();
+        request.setUserId(userId);
+        request.setEmail(userId + "@example.com");
+        request.setPassword("password");
+        request.setDisplayName(userId);
+        userService.registerUser(request);
+        return userRepository.findByUserId(userId).orElseThrow().getId();
+    }
+
+    /**
+     * rotatedAt 을 마지막 발급/회전 시각(updated_at)으로 저장
+     */
+    private void storeRefreshToken(long rowId, long userPk, String refreshToken, LocalDateTime rotatedAt) {
+        refreshTokenRepository.issueOrReplace(rowId, userPk, "device-1", sha256(refreshToken),
+                LocalDateTime.now().plusDays(1), "ua", rotatedAt);
+    }
+
+    private static KakaoUserInfo kakao(long id) {
+        return KakaoUserInfo.from(Map.of(
+                "id", id,
+                "kakao_account", Map.of(
+                        "email_needs_agreement", false,
+                        "email", "kakao-" + id + "@example.com",
+                        "profile_nickname_needs_agreement", false,
+                        "profile", Map.of("nickname", "kakao-" + id)
+                )
+        ));
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+        static long updates(String table) {
+            String prefix = "update " + table + " ";
+            return STATEMENTS.stream()
+                    .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith(prefix))
+                    .count();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.common.api.login.service;
+
+import com.common.api.login.config.DataSourceRoutingConfig;
+import com.common.api.login.config.ReplicaLagMonitor;
+import com.common.api.login.config.ReplicaRoutingDataSource;
+import com.common.api.login.entity.user.User;
+import com.common.api.login.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * 리포지토리(JPA) 경로로 읽기 전용 라우팅 확인
+ * primary / 복제본 모두 같은 내장 H2 를 가리키므로(스키마 공유) 어느 쪽으로 갔는지는 라우터 카운터로 구분한다.
+ * 라우터는 readOnly 커넥션을 얻을 때만 호출되므로 카운터 증가 = 읽기 전용 트랜잭션으로 조회했다는 뜻
+ * */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserSnapshotCache.class, ReadYourWrites.class, UserSnapshotCacheRoutingTest.RoutingConfig.class})
+class UserSnapshotCacheRoutingTest {
+
+    @Autowired
+    private UserSnapshotCache userSnapshotCache;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReplicaRoutingDataSource router;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void snapshotMissReadsFromReplica() {
+        long replicaReads = router.getReplicaReadCount();
+
+        assertThat(userSnapshotCache.get("missing-user")).isEmpty();
+
+        assertThat(router.getReplicaReadCount()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void findByUserIdOutsideTransactionIsReadOnly() {
+        saveUser("plain-user");
+        long replicaReads = router.getReplicaReadCount();
+
+        assertThat(userRepository.findByUserId("plain-user")).isPresent();
+
+        assertThat(router.getReplicaReadCount()).isEqualTo(replicaReads + 1);
+    }
+
+    @Test
+    void recentWriterSnapshotReadsFromPrimary() {
+        saveUser("writer");
+        readYourWrites.markWritten("writer");
+        long replicaReads = router.getReplicaReadCount();
+        long pinnedReads = router.getPinnedReadCount();
+
+        assertThat(userSnapshotCache.get("writer")).isPresent();
+
+        assertThat(router.getPinnedReadCount()).isEqualTo(pinnedReads + 1);
+        assertThat(router.getReplicaReadCount()).isEqualTo(replicaReads);
+    }
+
+    private void saveUser(String userId) {
+        userRepository.save(User.builder()
+                .userId(userId)
+                .email(userId + "@example.com")
+                .displayName(userId)
+                .build());
+    }
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        ReplicaRoutingDataSource replicaRoutingDataSource(ReadYourWrites readYourWrites) {
+            ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(h2()), "SELECT 0");
+            monitor.poll();
+            return new ReplicaRoutingDataSource(h2(), monitor, readYourWrites, 1_000);
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+            return DataSourceRoutingConfig.routingDataSource(h2(), replicaRoutingDataSource);
+        }
+
+        private static DataSource h2() {
+            return new DriverManagerDataSource("jdbc:h2:mem:snapshot_routing;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.common.api.login.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * jjwt 와의 교차 검증: 코덱 → jjwt, jjwt → 코덱
+ * */
+class Hs512TokenCodecTest {
+
+    private static final String SECRET =
+            "unvc/0IBfMVGKYNZa9xML9mhxBU8cactIVvVu7m6cmzZsW5dx+ncf6dBbMt3X/Wxu2cj0YaQnZCnmUch60TkKQ==";
+
+    private final SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    private final Hs512TokenCodec codec = new Hs512TokenCodec(key);
+
+    @Test
+    void codecTokenIsAcceptedByJjwt() {
+        long now = System.currentTimeMillis() / 1000;
+        String token = codec.sign(codec.payload()
+                .string("sub", "사용자-1")
+                .stringArray("roles", List.of("ROLE_USER", "ROLE_ADMIN"))
+                .number("iat", now)
+                .number("exp", now + 900)
+                .toBytes());
+
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        assertThat(claims.getSubject()).isEqualTo("사용자-1");
+        assertThat((List<?>) claims.get("roles")).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(claims.getIssuedAt()).isEqualTo(new Date(now * 1000));
+        assertThat(claims.getExpiration()).isEqualTo(new Date((now + 900) * 1000));
+    }
+
+    @Test
+    void jjwtTokenIsAcceptedByCodec() {
+        Date now = new Date();
+        String token = Jwts.builder()
+                .subject("user-1")
+                .claim("roles", Set.of("ROLE_USER"))
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 900_000))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+
+        Map<String, Object> claims = codec.decode(token, now.getTime(), false);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.get("sub")).isEqualTo("user-1");
+        assertThat(claims.get("roles")).isEqualTo(List.of("ROLE_USER"));
+        assertThat(claims.get("exp")).isEqualTo((now.getTime() + 900_000) / 1000);
+    }
+
+    @Test
+    void providerRoundTripMatchesJjwt() {
+        JwtTokenProvider provider = new JwtTokenProvider(900_000L, 604_800_000L, SECRET, 0);
+        String token = provider.createAccessToken("user-1", Set.of("ROLE_USER"));
+
+        Claims viaProvider = provider.verify(token);
+        Claims viaJjwt = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        assertThat(viaProvider.getSubject()).isEqualTo(viaJjwt.getSubject());
+        assertThat(viaProvider.getExpiration()).isEqualTo(viaJjwt.getExpiration());
+        assertThat(provider.getRoles(viaProvider)).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = provider().createAccessToken("user-1", Set.of("ROLE_USER"));
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThatThrownBy(() -> codec.decode(tampered, System.currentTimeMillis(), false))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        SecretKey other = Jwts.SIG.HS512.key().build();
+        String token = new Hs512TokenCodec(other).sign(codec.payload()
+                .string("sub", "user-1")
+                .number("exp", System.currentTimeMillis() / 1000 + 60)
+                .toBytes());
+
+        assertThatThrownBy(() -> codec.decode(token, System.currentTimeMillis(), false))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void expiredTokenIsRejectedUnlessAllowed() {
+        long past = System.currentTimeMillis() / 1000 - 60;
+        String token = codec.sign(codec.payload()
+                .string("sub", "user-1")
+                .number("iat", past - 900)
+                .number("exp", past)
+                .toBytes());
+
+        assertThatThrownBy(() -> codec.decode(token, System.currentTimeMillis(), false))
+                .isInstanceOf(ExpiredJwtException.class);
+        assertThat(codec.decode(token, System.currentTimeMillis(), true)).containsEntry("sub", "user-1");
+        assertThat(provider().getSubjectEvenIfExpired(token)).isEqualTo("user-1");
+    }
+
+    @Test
+    void malformedTokensAreRejectedBeforeSignatureCheck() {
+        assertThatThrownBy(() -> codec.decode("abc.def", 0, false))
+                .isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> codec.decode("a.b.c.d", 0, false))
+                .isInstanceOf(MalformedJwtException.class);
+
+        String valid = provider().createAccessToken("user-1", Set.of());
+        int dot = valid.indexOf('.');
+        String badPayload = valid.substring(0, dot + 1) + "!!!" + valid.substring(valid.lastIndexOf('.'));
+        assertThatThrownBy(() -> codec.decode(badPayload, 0, false))
+                .isInstanceOf(MalformedJwtException.class);
+    }
+
+    @Test
+    void unsupportedShapesFallBackToJjwt() {
+        String withTyp = Jwts.builder()
+                .header().type("JWT").and()
+                .subject("user-1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+        String nested = Jwts.builder()
+                .subject("user-1")
+                .claim("profile", Map.of("name", "x"))
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+
+        assertThat(codec.decode(withTyp, System.currentTimeMillis(), false)).isNull();
+        assertThat(codec.decode(nested, System.currentTimeMillis(), false)).isNull();
+        assertThat(provider().getUserId(withTyp)).isEqualTo("user-1");
+        assertThat(provider().getUserId(nested)).isEqualTo("user-1");
+    }
+
+    private JwtTokenProvider provider() {
+        return new JwtTokenProvider(900_000L, 604_800_000L, SECRET, 0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.common.api.login.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+ * 다중 생산자 offer / 단일 소비자 poll 이 값을 잃거나 중복하지 않는지,
+ * 용량(2의 거듭제곱 올림)과 가득 찼을 때 offer=false 확인
+ * */
+class MpscRingBufferTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int PER_PRODUCER = 100_000;
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(2).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<>(3).capacity()).isEqualTo(4);
+        assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new MpscRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerReturnsFalseAtCapacity() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(3);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        // 하나 꺼내면 다시 한 칸, 순서는 FIFO
+        assertThat(buffer.poll()).isEqualTo(0);
+        assertThat(buffer.offer(4)).isTrue();
+        List<Integer> rest = new ArrayList<>();
+        assertThat(buffer.drain(rest::add, 10)).isEqualTo(4);
+        assertThat(rest).containsExactly(1, 2, 3, 4);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                int base = p * PER_PRODUCER;
+                producers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait(); // 가득 참 → 소비자가 비울 때까지
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            int total = PRODUCERS * PER_PRODUCER;
+            int[] seen = new int[total];
+            int[] lastPerProducer = new int[PRODUCERS];
+            Arrays.fill(lastPerProducer, -1);
+            start.countDown();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            int received = 0;
+            int outOfOrder = 0;
+            while (received < total && System.nanoTime() < deadline) {
+                Integer value = buffer.poll();
+                if (value == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                seen[value]++;
+                // 생산자별로는 넣은 순서대로 나와야 함
+                int producer = value / PER_PRODUCER;
+                if (value <= lastPerProducer[producer]) {
+                    outOfOrder++;
+                }
+                lastPerProducer[producer] = value;
+                received++;
+            }
+            for (Future<?> producer : producers) {
+                producer.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(received).isEqualTo(total);
+            assertThat(outOfOrder).isZero();
+            assertThat(Arrays.stream(seen).filter(count -> count != 1).count()).isZero();
+            assertThat(buffer.poll()).isNull();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -3,6 +3,20 @@ import {createSlice, createAsyncThunk} from '@reduxjs/toolkit';
 import axios from 'axios';
 import {jwtDecode} from 'jwt-decode';
 
+// 백엔드 RoleType 선언 순서와 동일해야 함 (roles 클레임 = 1 << 인덱스 비트마스크)
+export const ROLE_NAMES = ['ROLE_USER', 'ROLE_ADMIN'];
+
+// roles 클레임 → 역할 이름 배열 (이전 형식의 이름 배열도 허용)
+export const decodeRoles = (claim) => {
+    if (Array.isArray(claim)) {
+        return claim;
+    }
+    if (typeof claim !== 'number') {
+        return [];
+    }
+    return ROLE_NAMES.filter((_, i) => (claim & (1 << i)) !== 0);
+};
+
 const initialState = {
     accessToken: null,
     roles: [],
@@ -46,7 +60,7 @@ const authSlice = createSlice({
             state.accessToken = token;
             try {
                 const decoded = jwtDecode(token);
-                state.roles = Array.isArray(decoded.roles) ? decoded.roles : [];
+                state.roles = decodeRoles(decoded.roles);
             } catch {
                 state.roles = [];
             }